@@ -17,12 +17,16 @@ import org.example.auth.UserAccount;
 import org.example.model.Member;
 import org.example.model.StudyGroup;
 import org.example.model.TimeSlot;
+import org.example.model.TimeSlotFormatter;
 import org.example.util.EmailService;
 import org.example.util.DataManager;
+import org.example.util.WriteBehindSaver;
 import org.example.view.CalendarGrid;
 import org.example.view.ForceScheduleDialog;
 
 public class MainFrame extends JFrame {
+    private static final int BEST_SLOT_COUNT = 10;
+
     private JPanel mainPanel;
     private JMenuBar menuBar;
     private JPanel calendarPanel;
@@ -36,14 +40,17 @@ public class MainFrame extends JFrame {
     private StudyGroup studyGroup;
     private EmailService emailService;
     private DataManager dataManager;
+    private WriteBehindSaver saver;
 
     private SimpleAuthService authService;
 
     // Modify constructor to include error handling
     public MainFrame(SimpleAuthService authService) {
         try {
-            // Initialize data manager
-            dataManager = new DataManager();
+            // Initialize data manager; single edits are journaled instead of rewriting every file,
+            // and snapshots use the binary format so startup does not have to parse JSON
+            dataManager = new DataManager(true, true);
+            saver = new WriteBehindSaver(dataManager); // Writes edits in the background, once per burst
 
             // Load existing study group or create new one
             studyGroup = dataManager.loadStudyGroup();
@@ -179,6 +186,12 @@ public class MainFrame extends JFrame {
     private void initializeUI() {
         setTitle("Study Squad Synchronizer");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeDataManager(); // Write pending edits before the application exits
+            }
+        });
         setSize(1024, 768);
         setLocationRelativeTo(null);
 
@@ -224,7 +237,10 @@ public class MainFrame extends JFrame {
 
         fileMenu.addSeparator();
         JMenuItem exitItem = new JMenuItem("Exit");
-        exitItem.addActionListener(e -> System.exit(0));
+        exitItem.addActionListener(e -> {
+            closeDataManager();
+            System.exit(0);
+        });
         fileMenu.add(exitItem);
 
         // Edit menu
@@ -499,8 +515,8 @@ public class MainFrame extends JFrame {
                     selectedMember.setEmail(email);
                     selectedMember.setGroup(group.isEmpty() ? null : group);
 
-                    // Save changes using DataManager
-                    dataManager.saveStudyGroup(studyGroup);
+                    // Save changes in the background
+                    saver.markDirty(studyGroup);
 
                     // Refresh the list
                     memberList.repaint();
@@ -531,8 +547,8 @@ public class MainFrame extends JFrame {
         // Mark common slots without clearing existing ones
         calendarGrid.markCommonSlots();
 
-        // Save the current state to ensure persistence
-        saveSchedule();
+        // Save the current state in the background; repeated searches are written once
+        saver.markDirty(studyGroup);
 
         statusBar.setMessage("Common time slots marked");
     }
@@ -543,7 +559,8 @@ public class MainFrame extends JFrame {
                 "New Schedule", JOptionPane.YES_NO_OPTION);
 
         if (result == JOptionPane.YES_OPTION) {
-            // Clear current data
+            // Clear current data, including edits that were still waiting to be written
+            saver.discard();
             dataManager.clearAllData();
 
             studyGroup = new StudyGroup("New Study Group");
@@ -558,15 +575,26 @@ public class MainFrame extends JFrame {
             // Show loading dialog
             JDialog loadingDialog = new JDialog(this, "Loading", true);
             JLabel loadingLabel = new JLabel("Loading schedule data...", SwingConstants.CENTER);
-            loadingDialog.add(loadingLabel);
-            loadingDialog.setSize(200, 100);
+            JProgressBar loadingProgress = new JProgressBar(0, 100);
+            loadingProgress.setStringPainted(true);
+            loadingDialog.setLayout(new BorderLayout(5, 5));
+            loadingDialog.add(loadingLabel, BorderLayout.CENTER);
+            loadingDialog.add(loadingProgress, BorderLayout.SOUTH);
+            loadingDialog.setSize(250, 100);
             loadingDialog.setLocationRelativeTo(this);
 
-            // Create a worker thread to load data
-            SwingWorker<StudyGroup, Void> worker = new SwingWorker<StudyGroup, Void>() {
+            // Create a worker thread to load data, publishing the percentage read
+            SwingWorker<StudyGroup, Integer> worker = new SwingWorker<StudyGroup, Integer>() {
                 @Override
                 protected StudyGroup doInBackground() throws Exception {
-                    return dataManager.loadStudyGroup();
+                    saver.flush(); // Load what was last edited, not what was last written
+                    return dataManager.loadStudyGroup((bytesRead, totalBytes) ->
+                        publish(totalBytes > 0 ? (int) (bytesRead * 100 / totalBytes) : 100));
+                }
+
+                @Override
+                protected void process(List<Integer> percentages) {
+                    loadingProgress.setValue(percentages.get(percentages.size() - 1));
                 }
 
                 @Override
@@ -622,11 +650,14 @@ public class MainFrame extends JFrame {
             savingDialog.setSize(200, 100);
             savingDialog.setLocationRelativeTo(this);
 
-            // Create a worker thread to save data
+            // Go through the background writer so this save and pending ones are written once
+            saver.markDirty(studyGroup);
+
+            // Create a worker thread to wait for the write
             SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
                 @Override
                 protected Void doInBackground() throws Exception {
-                    dataManager.saveStudyGroup(studyGroup);
+                    saver.flush();
                     return null;
                 }
 
@@ -677,9 +708,17 @@ public class MainFrame extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
 
         // Time selection panel
+        // Default to the first hour everybody is free on the selected day, else 2 PM
+        LocalDate selectedDate = calendarGrid.getDate();
+        TimeSlot nextCommonSlot = studyGroup.findNextCommonTimeSlot(
+                selectedDate.atTime(studyGroup.getDefaultStartTime()),
+                selectedDate.atTime(studyGroup.getDefaultEndTime()), 60);
+        int defaultHour = nextCommonSlot != null ? nextCommonSlot.getStartTime().getHour() : 14;
+        int defaultMinute = nextCommonSlot != null ? nextCommonSlot.getStartTime().getMinute() : 0;
+
         JPanel timePanel = new JPanel(new GridLayout(3, 2, 5, 5));
-        JSpinner hourSpinner = new JSpinner(new SpinnerNumberModel(14, 0, 23, 1)); // Default to 2 PM
-        JSpinner minuteSpinner = new JSpinner(new SpinnerNumberModel(0, 0, 55, 5));
+        JSpinner hourSpinner = new JSpinner(new SpinnerNumberModel(defaultHour, 0, 23, 1));
+        JSpinner minuteSpinner = new JSpinner(new SpinnerNumberModel(defaultMinute, 0, 59, 5));
         JSpinner durationSpinner = new JSpinner(new SpinnerNumberModel(60, 15, 240, 15)); // In minutes
 
         timePanel.add(new JLabel("Hour (0-23):"));
@@ -731,8 +770,7 @@ public class MainFrame extends JFrame {
             int confirm = JOptionPane.showConfirmDialog(this,
                     "Schedule meeting for:\n" +
                     "Date: " + date + "\n" +
-                    "Time: " + startTime.format(DateTimeFormatter.ofPattern("HH:mm")) +
-                    " - " + endTime.format(DateTimeFormatter.ofPattern("HH:mm")) + "\n" +
+                    "Time: " + TimeSlotFormatter.formatClockRange(startDateTime, endDateTime) + "\n" +
                     "Subject: " + subject + "\n\n" +
                     "Would you like to schedule this meeting?",
                     "Confirm Meeting", JOptionPane.YES_NO_OPTION);
@@ -748,7 +786,7 @@ public class MainFrame extends JFrame {
                 }
 
                 statusBar.setMessage("Meeting scheduled for " + date + " at " +
-                        startTime.format(DateTimeFormatter.ofPattern("HH:mm")));
+                        TimeSlotFormatter.formatClockTime(startTime));
             }
         }
     }
@@ -950,8 +988,7 @@ public class MainFrame extends JFrame {
             int confirm = JOptionPane.showConfirmDialog(this,
                     "Force schedule meeting with priority " + priority + ":\n" +
                     "Date: " + timeSlot.getStartTime().toLocalDate() + "\n" +
-                    "Time: " + timeSlot.getStartTime().toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")) +
-                    " - " + timeSlot.getEndTime().toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")) + "\n" +
+                    "Time: " + TimeSlotFormatter.formatClockRange(timeSlot.getStartTime(), timeSlot.getEndTime()) + "\n" +
                     "Subject: " + subject + "\n\n" +
                     "This will override any conflicts. Continue?",
                     "Confirm Force Schedule", JOptionPane.OK_CANCEL_OPTION,
@@ -975,7 +1012,7 @@ public class MainFrame extends JFrame {
 
                 statusBar.setMessage("Emergency meeting scheduled for " +
                         timeSlot.getStartTime().toLocalDate() + " at " +
-                        timeSlot.getStartTime().toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")));
+                        TimeSlotFormatter.formatClockTime(timeSlot.getStartTime()));
             }
         }
     }
@@ -1013,6 +1050,14 @@ public class MainFrame extends JFrame {
         }
     }
 
+    /**
+     * Writes pending edits and closes the data manager.
+     */
+    private void closeDataManager() {
+        saver.close();
+        dataManager.close();
+    }
+
     /**
      * Logs out the current user and returns to the login screen.
      */
@@ -1023,6 +1068,7 @@ public class MainFrame extends JFrame {
 
         if (confirm == JOptionPane.YES_OPTION) {
             authService.logout();
+            closeDataManager(); // The next window opens its own data manager
             dispose(); // Close this frame
 
             // Create new login view without circular references
@@ -1076,11 +1122,9 @@ public class MainFrame extends JFrame {
                 // Debug: Check members before adding schedule
                 System.out.println("DEBUG: Before adding schedule - Members count: " + studyGroup.getMembers().size());
 
-                // Add the time slot directly to the current study group (preserves existing members)
-                studyGroup.addTimeSlot(newSlot);
-
-                // Save the entire study group with all existing data preserved
-                dataManager.saveStudyGroup(studyGroup);
+                // Add the time slot to the current study group (preserves existing members) and
+                // journal it right away, so the meeting survives a crash before the next snapshot
+                dataManager.saveSchedule(newSlot, studyGroup);
 
                 // Update calendar grid to show the new time slot
                 calendarGrid.addTimeSlot(newSlot);
@@ -1228,7 +1272,7 @@ public class MainFrame extends JFrame {
                 Member selectedMember = studyGroup.getMembers().get(selectedIndex);
                 if (selectedMember.hasGroup()) {
                     selectedMember.setGroup(null);
-                    dataManager.saveStudyGroup(studyGroup);
+                    saver.markDirty(studyGroup);
 
                     // Update list display
                     String displayText = selectedMember.getName() + " (" + selectedMember.getEmail() + ") - No Group";
@@ -1268,7 +1312,7 @@ public class MainFrame extends JFrame {
 
                 if (confirm == JOptionPane.YES_OPTION) {
                     int removedCount = studyGroup.disbandGroup(selectedGroup);
-                    dataManager.saveStudyGroup(studyGroup);
+                    saver.markDirty(studyGroup);
 
                     // Refresh the list
                     listModel.clear();
@@ -1331,7 +1375,7 @@ public class MainFrame extends JFrame {
             }
 
             member.setGroup(finalGroup);
-            dataManager.saveStudyGroup(studyGroup);
+            saver.markDirty(studyGroup);
 
             // Update list display
             String displayText = member.getName() + " (" + member.getEmail() + ") - Group: " + finalGroup;
@@ -1390,12 +1434,23 @@ public class MainFrame extends JFrame {
                         slotsText.append(", ");
                     }
                 }
-                slotsText.append("\n\nCommon slots:\n");
+                slotsText.append("\n\nCommon slots: ").append(commonSlots.size()).append("\n");
 
-                for (TimeSlot slot : commonSlots) {
-                    slotsText.append("• ").append(slot.getStartTime().toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")))
-                            .append(" - ").append(slot.getEndTime().toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")))
-                            .append("\n");
+                TimeSlot longestWindow = studyGroup.findLongestCommonWindowForGroup(selectedGroup, date);
+                if (longestWindow != null) {
+                    slotsText.append("Longest common window: ")
+                            .append(TimeSlotFormatter.formatClockRange(longestWindow.getStartTime(), longestWindow.getEndTime()))
+                            .append(" (").append(longestWindow.getDurationMinutes()).append(" min)\n");
+                }
+                slotsText.append("Best slots:\n");
+
+                List<StudyGroup.RankedSlot> bestSlots =
+                        studyGroup.rankCandidateSlotsForGroup(selectedGroup, date, date, 30, BEST_SLOT_COUNT);
+                for (StudyGroup.RankedSlot ranked : bestSlots) {
+                    TimeSlot slot = ranked.getTimeSlot();
+                    slotsText.append("• ").append(TimeSlotFormatter.formatClockRange(slot.getStartTime(), slot.getEndTime()))
+                            .append(" (").append(ranked.getAvailableMembers()).append("/").append(groupMembers.size())
+                            .append(" available)\n");
                 }
 
                 JTextArea textArea = new JTextArea(slotsText.toString());
@@ -1450,8 +1505,8 @@ public class MainFrame extends JFrame {
             studyGroup.setDefaultEndTime(LocalTime.of(endHour, 0));
             studyGroup.setMinimumMembersRequired(minMembers);
 
-            // Save preferences
-            dataManager.saveStudyGroup(studyGroup);
+            // Save preferences in the background
+            saver.markDirty(studyGroup);
 
             statusBar.setMessage("Preferences updated");
         }
@@ -0,0 +1,105 @@
+package org.example.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * Helpers for per-day availability bitmaps, where each bit represents one 5-minute quantum of a day.
+ * A bit is set when some availability interval overlaps that quantum.
+ */
+final class AvailabilityBitmap {
+    static final int QUANTUM_MINUTES = 5;
+    static final int QUANTUM_SECONDS = QUANTUM_MINUTES * 60;
+    static final int QUANTA_PER_DAY = 24 * 60 / QUANTUM_MINUTES;
+    static final int WORDS_PER_DAY = (QUANTA_PER_DAY + 63) >>> 6;
+
+    private AvailabilityBitmap() {
+    }
+
+    /**
+     * Builds the bitmap for a single day from a member's availability index.
+     *
+     * @param date The day to build the bitmap for
+     * @param index The availability index of the member
+     * @return A new bitmap of {@link #WORDS_PER_DAY} words
+     */
+    static long[] build(LocalDate date, AvailabilityIndex index) {
+        long[] bits = new long[WORDS_PER_DAY];
+        LocalDateTime midnight = date.atStartOfDay();
+        for (Map.Entry<LocalDateTime, LocalDateTime> interval : index.overlapping(midnight, midnight.plusDays(1)).entrySet()) {
+            mark(bits, date, interval.getKey(), interval.getValue());
+        }
+        return bits;
+    }
+
+    /**
+     * Sets the bits of every quantum of the given day that overlaps the interval [start, end).
+     *
+     * @param bits The bitmap of the day
+     * @param date The day the bitmap represents
+     * @param start The start of the availability interval
+     * @param end The end of the availability interval
+     */
+    static void mark(long[] bits, LocalDate date, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime midnight = date.atStartOfDay();
+        long startSeconds = ChronoUnit.SECONDS.between(midnight, start);
+        long endSeconds = ChronoUnit.SECONDS.between(midnight, end);
+
+        long first = Math.max(Math.floorDiv(startSeconds, QUANTUM_SECONDS), 0);
+        long last = Math.min(Math.floorDiv(endSeconds - 1, QUANTUM_SECONDS), QUANTA_PER_DAY - 1);
+        if (first <= last) {
+            setRange(bits, (int) first, (int) last + 1);
+        }
+    }
+
+    /**
+     * Sets every bit in the half-open range [from, to).
+     */
+    static void setRange(long[] bits, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+
+        if (firstWord == lastWord) {
+            bits[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        bits[firstWord] |= firstMask;
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            bits[i] = -1L;
+        }
+        bits[lastWord] |= lastMask;
+    }
+
+    /**
+     * Checks whether any bit in the half-open range [from, to) is set.
+     */
+    static boolean anyInRange(long[] bits, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+
+        if (firstWord == lastWord) {
+            return (bits[firstWord] & firstMask & lastMask) != 0;
+        }
+        if ((bits[firstWord] & firstMask) != 0) {
+            return true;
+        }
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            if (bits[i] != 0) {
+                return true;
+            }
+        }
+        return (bits[lastWord] & lastMask) != 0;
+    }
+}
@@ -0,0 +1,296 @@
+package org.example.model;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Sorted index over a member's availability. Overlapping and adjacent time slots are kept
+ * merged into disjoint intervals keyed by start time, so overlap, containment and point
+ * queries only need to look at the neighbouring entries.
+ */
+final class AvailabilityIndex {
+    private final NavigableMap<LocalDateTime, LocalDateTime> intervals = new TreeMap<>();
+    // How many stored slots cover each instant, as a step function from every boundary
+    // to the count up to the next one; null when the index does not count coverage
+    private final NavigableMap<LocalDateTime, Integer> coverage;
+
+    /**
+     * Creates an index that only keeps the merged intervals.
+     */
+    AvailabilityIndex() {
+        this(false);
+    }
+
+    /**
+     * Creates an index, optionally counting how many slots cover each instant. Only an index
+     * that counts coverage can {@link #remove} one of several overlapping slots.
+     *
+     * @param countsCoverage true to count coverage
+     */
+    AvailabilityIndex(boolean countsCoverage) {
+        coverage = countsCoverage ? new TreeMap<>() : null;
+    }
+
+    /**
+     * Replaces the contents of the index with the given time slots.
+     *
+     * @param timeSlots The time slots to index
+     */
+    void rebuild(Collection<TimeSlot> timeSlots) {
+        clear();
+        for (TimeSlot timeSlot : timeSlots) {
+            add(timeSlot.getStartTime(), timeSlot.getEndTime());
+        }
+    }
+
+    /**
+     * Replaces the contents of the index with the intervals of another index.
+     *
+     * @param other The index to copy
+     */
+    void copyFrom(AvailabilityIndex other) {
+        intervals.clear();
+        intervals.putAll(other.intervals);
+        if (coverage != null) {
+            coverage.clear();
+            coverage.putAll(other.coverage);
+        }
+    }
+
+    /**
+     * Adds an interval, merging it with any overlapping or adjacent intervals.
+     *
+     * @param start The start of the interval
+     * @param end The end of the interval
+     */
+    void add(LocalDateTime start, LocalDateTime end) {
+        if (coverage != null && start.isBefore(end)) {
+            adjustCoverage(start, end, 1);
+        }
+        merge(start, end);
+    }
+
+    /**
+     * Adds an interval that replaces the stored slots it overlaps, as in canonical storage,
+     * where the merged intervals are the stored slots and each instant is covered at most once.
+     *
+     * @param start The start of the interval
+     * @param end The end of the interval
+     */
+    void fill(LocalDateTime start, LocalDateTime end) {
+        if (coverage != null && start.isBefore(end)) {
+            setCoverage(start, end, 1);
+        }
+        merge(start, end);
+    }
+
+    /**
+     * Removes one stored slot. Only the merged interval that contains the slot changes: it is
+     * split into the parts that other stored slots still cover.
+     *
+     * @param start The start of the slot
+     * @param end The end of the slot
+     * @throws IllegalStateException if the index does not count coverage
+     */
+    void remove(LocalDateTime start, LocalDateTime end) {
+        if (coverage == null) {
+            throw new IllegalStateException("This index does not count coverage");
+        }
+        if (!start.isBefore(end) || !covers(start, end)) {
+            return;
+        }
+        adjustCoverage(start, end, -1);
+        Map.Entry<LocalDateTime, LocalDateTime> containing = intervals.floorEntry(start);
+        intervals.remove(containing.getKey());
+        LocalDateTime runStart = null;
+        for (Map.Entry<LocalDateTime, Integer> step
+                : coverage.subMap(containing.getKey(), true, containing.getValue(), false).entrySet()) {
+            if (step.getValue() > 0 && runStart == null) {
+                runStart = step.getKey();
+            } else if (step.getValue() == 0 && runStart != null) {
+                intervals.put(runStart, step.getKey());
+                runStart = null;
+            }
+        }
+        if (runStart != null) {
+            intervals.put(runStart, containing.getValue());
+        }
+    }
+
+    /**
+     * Counts every merged interval as covered exactly once, for when the stored slots have
+     * been replaced by the merged intervals.
+     */
+    void flattenCoverage() {
+        if (coverage == null) {
+            return;
+        }
+        coverage.clear();
+        for (Map.Entry<LocalDateTime, LocalDateTime> interval : intervals.entrySet()) {
+            coverage.put(interval.getKey(), 1);
+            coverage.put(interval.getValue(), 0);
+        }
+    }
+
+    private void merge(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> floor = intervals.floorEntry(start);
+        if (floor != null && !floor.getValue().isBefore(start)) {
+            if (!floor.getValue().isBefore(end)) {
+                return; // Already covered
+            }
+            start = floor.getKey();
+        }
+
+        Iterator<Map.Entry<LocalDateTime, LocalDateTime>> following =
+                intervals.subMap(start, true, end, true).entrySet().iterator();
+        while (following.hasNext()) {
+            LocalDateTime followingEnd = following.next().getValue();
+            if (followingEnd.isAfter(end)) {
+                end = followingEnd;
+            }
+            following.remove();
+        }
+
+        intervals.put(start, end);
+    }
+
+    /**
+     * Removes the range [start, end) from the interval that covers it, splitting that
+     * interval if the range lies strictly inside it.
+     *
+     * @param start The start of the range
+     * @param end The end of the range
+     * @return true if the range was covered and has been removed, false if nothing changed
+     */
+    boolean subtract(LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end) || !covers(start, end)) {
+            return false;
+        }
+        if (coverage != null) {
+            setCoverage(start, end, 0);
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> floor = intervals.floorEntry(start);
+        intervals.remove(floor.getKey());
+        if (floor.getKey().isBefore(start)) {
+            intervals.put(floor.getKey(), start);
+        }
+        if (end.isBefore(floor.getValue())) {
+            intervals.put(end, floor.getValue());
+        }
+        return true;
+    }
+
+    /**
+     * Removes every interval from the index.
+     */
+    void clear() {
+        intervals.clear();
+        if (coverage != null) {
+            coverage.clear();
+        }
+    }
+
+    /**
+     * Checks if any indexed interval overlaps the range [start, end).
+     */
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> lower = intervals.lowerEntry(end);
+        return lower != null && lower.getValue().isAfter(start);
+    }
+
+    /**
+     * Checks if the range [start, end) is completely covered by the indexed intervals.
+     */
+    boolean covers(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> floor = intervals.floorEntry(start);
+        return floor != null && !floor.getValue().isBefore(end);
+    }
+
+    /**
+     * Checks if the given instant falls inside an indexed interval.
+     */
+    boolean contains(LocalDateTime time) {
+        Map.Entry<LocalDateTime, LocalDateTime> floor = intervals.floorEntry(time);
+        return floor != null && floor.getValue().isAfter(time);
+    }
+
+    /**
+     * Gets every merged interval in start order, as a map from interval start to interval end.
+     */
+    NavigableMap<LocalDateTime, LocalDateTime> intervals() {
+        return Collections.unmodifiableNavigableMap(intervals);
+    }
+
+    /**
+     * Gets the merged intervals that overlap or touch the range [start, end], which are the
+     * ones that adding the range merges into one, in start order, as a map from interval
+     * start to interval end.
+     */
+    NavigableMap<LocalDateTime, LocalDateTime> touching(LocalDateTime start, LocalDateTime end) {
+        if (end.isBefore(start)) {
+            return Collections.emptyNavigableMap();
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> floor = intervals.floorEntry(start);
+        LocalDateTime from = floor != null && !floor.getValue().isBefore(start) ? floor.getKey() : start;
+        return intervals.subMap(from, true, end, true);
+    }
+
+    /**
+     * Gets the merged intervals overlapping the range [start, end), in start order,
+     * as a map from interval start to interval end.
+     */
+    NavigableMap<LocalDateTime, LocalDateTime> overlapping(LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            return Collections.emptyNavigableMap();
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> floor = intervals.floorEntry(start);
+        LocalDateTime from = floor != null && floor.getValue().isAfter(start) ? floor.getKey() : start;
+        return intervals.subMap(from, true, end, false);
+    }
+
+    private void adjustCoverage(LocalDateTime start, LocalDateTime end, int change) {
+        splitCoverageAt(start);
+        splitCoverageAt(end);
+        for (Map.Entry<LocalDateTime, Integer> step : coverage.subMap(start, true, end, false).entrySet()) {
+            step.setValue(step.getValue() + change);
+        }
+        joinCoverageAt(end);
+        joinCoverageAt(start);
+    }
+
+    private void setCoverage(LocalDateTime start, LocalDateTime end, int count) {
+        splitCoverageAt(end);
+        coverage.subMap(start, true, end, false).clear();
+        coverage.put(start, count);
+        joinCoverageAt(end);
+        joinCoverageAt(start);
+    }
+
+    /**
+     * Makes the given instant a boundary of the coverage count, without changing any count.
+     */
+    private void splitCoverageAt(LocalDateTime time) {
+        if (!coverage.containsKey(time)) {
+            Map.Entry<LocalDateTime, Integer> floor = coverage.floorEntry(time);
+            coverage.put(time, floor == null ? 0 : floor.getValue());
+        }
+    }
+
+    /**
+     * Drops the boundary at the given instant if the count does not change there.
+     */
+    private void joinCoverageAt(LocalDateTime time) {
+        Integer count = coverage.get(time);
+        if (count != null) {
+            Map.Entry<LocalDateTime, Integer> lower = coverage.lowerEntry(time);
+            if (count == (lower == null ? 0 : lower.getValue())) {
+                coverage.remove(time);
+            }
+        }
+    }
+}
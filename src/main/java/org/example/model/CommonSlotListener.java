@@ -0,0 +1,20 @@
+package org.example.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Receives notifications when parts of a day start or stop having enough available members
+ * to meet a study group's quorum.
+ */
+public interface CommonSlotListener {
+
+    /**
+     * Called after an edit changed which parts of a day are common time.
+     *
+     * @param date The day that changed
+     * @param becameCommon The time ranges that now have enough available members
+     * @param noLongerCommon The time ranges that no longer have enough available members
+     */
+    void commonSlotsChanged(LocalDate date, List<TimeSlot> becameCommon, List<TimeSlot> noLongerCommon);
+}
@@ -1,7 +1,18 @@
 package org.example.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents a member of a study group with personal information and available time slots.
@@ -10,13 +21,17 @@ public class Member {
     private String name;
     private String email;
     private String group; // New field for group membership
-    private List<TimeSlot> availableTimeSlots;
+    private final PackedTimeSlots availableTimeSlots = new PackedTimeSlots(); // Views are created on read
+    private boolean canonicalizing; // Store availability as merged, maximal intervals
+    private final List<RecurringAvailability> recurringAvailability = new CopyOnWriteArrayList<>(); // Expanded per queried date
+    private final AvailabilityIndex availabilityIndex = new AvailabilityIndex(true); // Merged view for lookups
+    private final Map<LocalDate, long[]> availabilityBitmaps = new ConcurrentHashMap<>(); // Built lazily per day
+    private final List<MemberListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Default constructor for JSON deserialization.
      */
     public Member() {
-        this.availableTimeSlots = new ArrayList<>();
     }
 
     /**
@@ -29,7 +44,6 @@ public class Member {
         this.name = name;
         this.email = email;
         this.group = null; // No group by default
-        this.availableTimeSlots = new ArrayList<>();
     }
 
     /**
@@ -43,7 +57,6 @@ public class Member {
         this.name = name;
         this.email = email;
         this.group = group;
-        this.availableTimeSlots = new ArrayList<>();
     }
 
     /**
@@ -61,7 +74,11 @@ public class Member {
      * @param name The new name
      */
     public void setName(String name) {
+        String previousName = this.name;
         this.name = name;
+        if (!Objects.equals(previousName, name)) {
+            listeners.forEach(listener -> listener.identityChanged(this, previousName, email));
+        }
     }
 
     /**
@@ -79,7 +96,11 @@ public class Member {
      * @param email The new email address
      */
     public void setEmail(String email) {
+        String previousEmail = this.email;
         this.email = email;
+        if (!Objects.equals(previousEmail, email)) {
+            listeners.forEach(listener -> listener.identityChanged(this, name, previousEmail));
+        }
     }
 
     /**
@@ -97,7 +118,11 @@ public class Member {
      * @param group The group name, or null to remove from group
      */
     public void setGroup(String group) {
+        String previousGroup = this.group;
         this.group = group;
+        if (!Objects.equals(previousGroup, group)) {
+            listeners.forEach(listener -> listener.groupChanged(this, previousGroup));
+        }
     }
 
     /**
@@ -124,11 +149,13 @@ public class Member {
 
     /**
      * Gets the list of available time slots for this member.
+     * The list is an unmodifiable snapshot that is shared between calls until the
+     * member's time slots change.
      *
      * @return The list of available time slots
      */
     public List<TimeSlot> getAvailableTimeSlots() {
-        return new ArrayList<>(availableTimeSlots);
+        return availableTimeSlots.snapshot();
     }
 
     /**
@@ -137,41 +164,330 @@ public class Member {
      * @param availableTimeSlots The new list of available time slots
      */
     public void setAvailableTimeSlots(List<TimeSlot> availableTimeSlots) {
-        this.availableTimeSlots = availableTimeSlots != null ?
-            new ArrayList<>(availableTimeSlots) : new ArrayList<>();
+        this.availableTimeSlots.clear();
+        if (availableTimeSlots != null) {
+            this.availableTimeSlots.addAll(availableTimeSlots);
+        }
+        availabilityIndex.rebuild(this.availableTimeSlots.snapshot());
+        if (canonicalizing) {
+            storeMergedIntervals();
+        }
+        availabilityBitmaps.clear();
+        listeners.forEach(listener -> listener.availabilityReset(this));
+    }
+
+    /**
+     * Checks if this member stores availability in canonical form.
+     *
+     * @return true if overlapping and adjacent time slots are merged on insert
+     */
+    public boolean isCanonicalizing() {
+        return canonicalizing;
+    }
+
+    /**
+     * Turns canonical storage of availability on or off. While on, overlapping and adjacent
+     * time slots are merged into maximal intervals as they are added, and removing a slot
+     * cuts it out of the interval that covers it. Merged intervals have no title or description.
+     * Turning the mode on merges the slots already stored; turning it off keeps them merged.
+     *
+     * @param canonicalizing true to merge time slots on insert
+     */
+    public void setCanonicalizing(boolean canonicalizing) {
+        this.canonicalizing = canonicalizing;
+        if (canonicalizing) {
+            storeMergedIntervals();
+        }
     }
 
     /**
      * Adds a time slot to the member's availability.
+     * In canonicalizing mode the slot is merged with any overlapping or adjacent slots.
      *
      * @param timeSlot The time slot to add
      * @return true if the time slot was added, false if it already exists
+     *         (or, in canonicalizing mode, is already covered)
      */
     public boolean addTimeSlot(TimeSlot timeSlot) {
-        if (!availableTimeSlots.contains(timeSlot)) {
-            return availableTimeSlots.add(timeSlot);
+        boolean isNew = canonicalizing
+                ? !availabilityIndex.covers(timeSlot.getStartTime(), timeSlot.getEndTime())
+                : !availableTimeSlots.contains(timeSlot);
+        if (isNew) {
+            long[][] before = captureAvailabilityBitmaps(timeSlot);
+            if (canonicalizing) {
+                NavigableMap<LocalDateTime, LocalDateTime> replaced =
+                        new TreeMap<>(availabilityIndex.touching(timeSlot.getStartTime(), timeSlot.getEndTime()));
+                availabilityIndex.fill(timeSlot.getStartTime(), timeSlot.getEndTime());
+                spliceMergedIntervals(replaced, timeSlot);
+            } else {
+                availabilityIndex.add(timeSlot.getStartTime(), timeSlot.getEndTime());
+                availableTimeSlots.add(timeSlot);
+            }
+            updateAvailabilityBitmaps(timeSlot, true);
+            publishAvailabilityChanges(timeSlot, before);
+            return true;
         }
         return false;
     }
 
     /**
      * Removes a time slot from the member's availability.
+     * In canonicalizing mode any slot the member is fully available for can be removed,
+     * splitting the interval that covers it.
      *
      * @param timeSlot The time slot to remove
      * @return true if the time slot was removed, false if it wasn't in the list
      */
     public boolean removeTimeSlot(TimeSlot timeSlot) {
-        return availableTimeSlots.remove(timeSlot);
+        long[][] before = captureAvailabilityBitmaps(timeSlot);
+        boolean removed;
+        if (canonicalizing) {
+            NavigableMap<LocalDateTime, LocalDateTime> replaced =
+                    new TreeMap<>(availabilityIndex.overlapping(timeSlot.getStartTime(), timeSlot.getEndTime()));
+            removed = availabilityIndex.subtract(timeSlot.getStartTime(), timeSlot.getEndTime());
+            if (removed) {
+                spliceMergedIntervals(replaced, timeSlot);
+            }
+        } else {
+            removed = availableTimeSlots.remove(timeSlot);
+            if (removed) {
+                availabilityIndex.remove(timeSlot.getStartTime(), timeSlot.getEndTime());
+            }
+        }
+        if (removed) {
+            updateAvailabilityBitmaps(timeSlot, false);
+            publishAvailabilityChanges(timeSlot, before);
+        }
+        return removed;
     }
 
     /**
-     * Checks if a member is available during a specific time slot.
+     * Replaces the stored time slots with the merged intervals of the availability index.
+     * Slots that are already stored as merged intervals, such as those of a member saved in
+     * canonical mode, are kept as they are, in the order they were stored.
+     */
+    private void storeMergedIntervals() {
+        availabilityIndex.flattenCoverage();
+        if (storesMergedIntervals()) {
+            return;
+        }
+        availableTimeSlots.clear();
+        for (Map.Entry<LocalDateTime, LocalDateTime> interval : availabilityIndex.intervals().entrySet()) {
+            availableTimeSlots.add(new TimeSlot(interval.getKey(), interval.getValue()));
+        }
+    }
+
+    /**
+     * Checks if the stored time slots are exactly the merged intervals of the availability index.
+     */
+    private boolean storesMergedIntervals() {
+        NavigableMap<LocalDateTime, LocalDateTime> intervals = availabilityIndex.intervals();
+        if (availableTimeSlots.size() != intervals.size()) {
+            return false;
+        }
+        for (TimeSlot slot : availableTimeSlots.snapshot()) {
+            if (!slot.getEndTime().equals(intervals.get(slot.getStartTime()))
+                    || !Objects.toString(slot.getTitle(), "").isEmpty()
+                    || !Objects.toString(slot.getDescription(), "").isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Swaps the stored intervals that a canonical add or removal replaced for the merged
+     * intervals that took their place, which all lie within the replaced intervals and the slot.
+     *
+     * @param replaced The merged intervals the change replaced
+     * @param timeSlot The time slot that was added or removed
+     */
+    private void spliceMergedIntervals(NavigableMap<LocalDateTime, LocalDateTime> replaced, TimeSlot timeSlot) {
+        LocalDateTime from = timeSlot.getStartTime();
+        LocalDateTime to = timeSlot.getEndTime();
+        List<TimeSlot> removed = new ArrayList<>(replaced.size());
+        for (Map.Entry<LocalDateTime, LocalDateTime> interval : replaced.entrySet()) {
+            removed.add(new TimeSlot(interval.getKey(), interval.getValue()));
+            if (interval.getKey().isBefore(from)) {
+                from = interval.getKey();
+            }
+            if (interval.getValue().isAfter(to)) {
+                to = interval.getValue();
+            }
+        }
+        List<TimeSlot> added = new ArrayList<>(2);
+        for (Map.Entry<LocalDateTime, LocalDateTime> interval : availabilityIndex.overlapping(from, to).entrySet()) {
+            added.add(new TimeSlot(interval.getKey(), interval.getValue()));
+        }
+        availableTimeSlots.replace(removed, added);
+    }
+
+    /**
+     * Checks if a member is available during the whole of a specific time slot.
+     * The slot may span several adjacent or overlapping availability slots.
      *
      * @param timeSlot The time slot to check
      * @return true if the member is available, false otherwise
      */
     public boolean isAvailable(TimeSlot timeSlot) {
-        return availableTimeSlots.contains(timeSlot);
+        return timeSlot != null
+            && getAvailabilityIndex(timeSlot.getStartTime(), timeSlot.getEndTime())
+                .covers(timeSlot.getStartTime(), timeSlot.getEndTime());
+    }
+
+    /**
+     * Checks if a member is available at a specific point in time.
+     *
+     * @param dateTime The date and time to check
+     * @return true if the member is available at that time, false otherwise
+     */
+    public boolean isAvailableAt(LocalDateTime dateTime) {
+        return dateTime != null && getAvailabilityIndex(dateTime, dateTime.plusNanos(1)).contains(dateTime);
+    }
+
+    /**
+     * Checks if any of the member's availability overlaps a specific time slot.
+     *
+     * @param timeSlot The time slot to check
+     * @return true if the member is available for at least part of the slot, false otherwise
+     */
+    public boolean overlapsAvailability(TimeSlot timeSlot) {
+        return timeSlot != null
+            && getAvailabilityIndex(timeSlot.getStartTime(), timeSlot.getEndTime())
+                .overlaps(timeSlot.getStartTime(), timeSlot.getEndTime());
+    }
+
+    /**
+     * Gets the merged availability intervals overlapping the range [start, end), in start order.
+     *
+     * @param start The start of the range
+     * @param end The end of the range
+     * @return A view mapping each interval start to its end
+     */
+    NavigableMap<LocalDateTime, LocalDateTime> getAvailabilityOverlapping(LocalDateTime start, LocalDateTime end) {
+        return getAvailabilityIndex(start, end).overlapping(start, end);
+    }
+
+    /**
+     * Gets an index of the member's availability that is complete for the range [start, end).
+     * Without recurring availability this is the member's own index; otherwise the time slots
+     * overlapping the range are merged with the occurrences of every rule on the dates it touches.
+     *
+     * @param start The start of the range
+     * @param end The end of the range
+     * @return An availability index to answer queries about the range
+     */
+    private AvailabilityIndex getAvailabilityIndex(LocalDateTime start, LocalDateTime end) {
+        if (recurringAvailability.isEmpty() || !start.isBefore(end)) {
+            return availabilityIndex;
+        }
+        AvailabilityIndex expanded = new AvailabilityIndex();
+        for (Map.Entry<LocalDateTime, LocalDateTime> interval : availabilityIndex.overlapping(start, end).entrySet()) {
+            expanded.add(interval.getKey(), interval.getValue());
+        }
+        LocalDate lastDate = end.minusNanos(1).toLocalDate();
+        for (LocalDate date = start.toLocalDate(); !date.isAfter(lastDate); date = date.plusDays(1)) {
+            for (TimeSlot occurrence : getRecurringTimeSlots(date)) {
+                expanded.add(occurrence.getStartTime(), occurrence.getEndTime());
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * Gets the recurring availability rules of this member.
+     *
+     * @return A list of copies of the rules
+     */
+    public List<RecurringAvailability> getRecurringAvailability() {
+        List<RecurringAvailability> rules = new ArrayList<>();
+        for (RecurringAvailability rule : recurringAvailability) {
+            rules.add(rule.copy());
+        }
+        return rules;
+    }
+
+    /**
+     * Sets the recurring availability rules of this member.
+     *
+     * @param rules The new list of rules
+     */
+    public void setRecurringAvailability(List<RecurringAvailability> rules) {
+        recurringAvailability.clear();
+        if (rules != null) {
+            for (RecurringAvailability rule : rules) {
+                recurringAvailability.add(rule.copy());
+            }
+        }
+        availabilityBitmaps.clear();
+        listeners.forEach(listener -> listener.availabilityReset(this));
+    }
+
+    /**
+     * Adds a recurring availability rule. The rule is copied, so later changes to the
+     * given object have no effect on this member.
+     *
+     * @param rule The rule to add
+     * @return true if the rule was added, false if an equal rule already exists
+     */
+    public boolean addRecurringAvailability(RecurringAvailability rule) {
+        if (rule == null || recurringAvailability.contains(rule)) {
+            return false;
+        }
+        recurringAvailability.add(rule.copy());
+        availabilityBitmaps.clear();
+        listeners.forEach(listener -> listener.availabilityReset(this));
+        return true;
+    }
+
+    /**
+     * Removes a recurring availability rule.
+     *
+     * @param rule The rule to remove
+     * @return true if the rule was removed, false if it wasn't in the list
+     */
+    public boolean removeRecurringAvailability(RecurringAvailability rule) {
+        if (!recurringAvailability.remove(rule)) {
+            return false;
+        }
+        availabilityBitmaps.clear();
+        listeners.forEach(listener -> listener.availabilityReset(this));
+        return true;
+    }
+
+    /**
+     * Gets the occurrences of the member's recurring availability on a specific date.
+     *
+     * @param date The date to expand the rules for
+     * @return The time slots the rules make available on that date
+     */
+    public List<TimeSlot> getRecurringTimeSlots(LocalDate date) {
+        List<TimeSlot> occurrences = new ArrayList<>();
+        for (RecurringAvailability rule : recurringAvailability) {
+            TimeSlot occurrence = rule.getTimeSlotOn(date);
+            if (occurrence != null) {
+                occurrences.add(occurrence);
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Creates a copy of this member with its own time slots and recurring rules.
+     * The copy does not belong to any study group, so later changes to either member
+     * do not affect the other.
+     *
+     * @return The copy
+     */
+    public Member copy() {
+        Member copy = new Member(name, email, group);
+        copy.canonicalizing = canonicalizing;
+        copy.availableTimeSlots.copyFrom(availableTimeSlots);
+        copy.availabilityIndex.copyFrom(availabilityIndex);
+        for (RecurringAvailability rule : recurringAvailability) {
+            copy.recurringAvailability.add(rule.copy());
+        }
+        return copy;
     }
 
     /**
@@ -179,6 +495,7 @@ public class Member {
      *
      * @return The number of available time slots
      */
+    @JsonIgnore
     public int getAvailableSlotCount() {
         return availableTimeSlots.size();
     }
@@ -188,6 +505,110 @@ public class Member {
      */
     public void clearAvailableSlots() {
         availableTimeSlots.clear();
+        availabilityIndex.clear();
+        availabilityBitmaps.clear();
+        listeners.forEach(listener -> listener.availabilityReset(this));
+    }
+
+    /**
+     * Gets the availability bitmap of this member for a single day, one bit per 5-minute quantum.
+     * The bitmap is built on first use and kept in sync with later availability changes.
+     * The returned array is shared and must not be modified by callers.
+     *
+     * @param date The day to get the bitmap for
+     * @return The availability bitmap of the day
+     */
+    long[] getAvailabilityBitmap(LocalDate date) {
+        return availabilityBitmaps.computeIfAbsent(date,
+            day -> AvailabilityBitmap.build(day, getAvailabilityIndex(day.atStartOfDay(), day.plusDays(1).atStartOfDay())));
+    }
+
+    /**
+     * Applies an added or removed time slot to the cached bitmaps of the days it touches.
+     * Added slots are marked in place; days affected by a removal are rebuilt on next use,
+     * since other slots may still cover the same quanta.
+     *
+     * @param timeSlot The time slot that was added or removed
+     * @param added true if the slot was added, false if it was removed
+     */
+    private void updateAvailabilityBitmaps(TimeSlot timeSlot, boolean added) {
+        if (availabilityBitmaps.isEmpty()) {
+            return;
+        }
+        LocalDate lastDate = timeSlot.getEndTime().minusNanos(1).toLocalDate();
+        for (LocalDate date = timeSlot.getStartTime().toLocalDate(); !date.isAfter(lastDate); date = date.plusDays(1)) {
+            if (added) {
+                long[] bits = availabilityBitmaps.get(date);
+                if (bits != null) {
+                    AvailabilityBitmap.mark(bits, date, timeSlot.getStartTime(), timeSlot.getEndTime());
+                }
+            } else {
+                availabilityBitmaps.remove(date);
+            }
+        }
+    }
+
+    /**
+     * Copies the bitmaps of the days a time slot touches, before an edit, if anyone is listening.
+     *
+     * @param timeSlot The time slot about to be added or removed
+     * @return The bitmap of each touched day in date order, or null if there are no listeners
+     */
+    private long[][] captureAvailabilityBitmaps(TimeSlot timeSlot) {
+        if (listeners.isEmpty()) {
+            return null;
+        }
+        LocalDate firstDate = timeSlot.getStartTime().toLocalDate();
+        int days = (int) ChronoUnit.DAYS.between(firstDate, timeSlot.getEndTime().minusNanos(1).toLocalDate()) + 1;
+        long[][] before = new long[days][];
+        for (int day = 0; day < days; day++) {
+            before[day] = getAvailabilityBitmap(firstDate.plusDays(day)).clone();
+        }
+        return before;
+    }
+
+    /**
+     * Tells listeners which quanta of each day touched by an edit were gained or lost.
+     *
+     * @param timeSlot The time slot that was added or removed
+     * @param before The bitmaps captured before the edit, or null if there are no listeners
+     */
+    private void publishAvailabilityChanges(TimeSlot timeSlot, long[][] before) {
+        if (before == null) {
+            return;
+        }
+        LocalDate firstDate = timeSlot.getStartTime().toLocalDate();
+        for (int day = 0; day < before.length; day++) {
+            LocalDate date = firstDate.plusDays(day);
+            long[] after = getAvailabilityBitmap(date);
+            long[] gained = new long[after.length];
+            long[] lost = new long[after.length];
+            for (int i = 0; i < after.length; i++) {
+                gained[i] = after[i] & ~before[day][i];
+                lost[i] = before[day][i] & ~after[i];
+            }
+            for (MemberListener listener : listeners) {
+                listener.availabilityChanged(this, date, gained, lost);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener for changes to this member.
+     *
+     * @param listener The listener to add
+     */
+    void addListener(MemberListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener previously added with {@link #addListener(MemberListener)}.
+     *
+     * @param listener The listener to remove
+     */
+    void removeListener(MemberListener listener) {
+        listeners.remove(listener);
     }
 
     @Override
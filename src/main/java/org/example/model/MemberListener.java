@@ -0,0 +1,49 @@
+package org.example.model;
+
+import java.time.LocalDate;
+
+/**
+ * Receives notifications about changes to a member, so that structures derived from
+ * member data can be updated incrementally instead of being rebuilt.
+ */
+interface MemberListener {
+
+    /**
+     * Called after an availability edit for each day the edited time slot touches.
+     * The quanta sets are empty when the edit did not change the day's bitmap.
+     *
+     * @param member The member whose availability changed
+     * @param date The day that changed
+     * @param gained The 5-minute quanta that became available
+     * @param lost The 5-minute quanta that are no longer available
+     */
+    default void availabilityChanged(Member member, LocalDate date, long[] gained, long[] lost) {
+    }
+
+    /**
+     * Called after the member's availability was replaced or cleared as a whole.
+     *
+     * @param member The member whose availability was reset
+     */
+    default void availabilityReset(Member member) {
+    }
+
+    /**
+     * Called after the member was moved to another group.
+     *
+     * @param member The member whose group changed
+     * @param previousGroup The group the member belonged to before, or null
+     */
+    default void groupChanged(Member member, String previousGroup) {
+    }
+
+    /**
+     * Called after the member's name or email changed.
+     *
+     * @param member The member that changed
+     * @param previousName The member's name before the change
+     * @param previousEmail The member's email address before the change
+     */
+    default void identityChanged(Member member, String previousName, String previousEmail) {
+    }
+}
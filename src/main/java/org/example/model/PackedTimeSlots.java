@@ -0,0 +1,324 @@
+package org.example.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Insertion-ordered set of time slots. Start and end times are also kept as epoch-minutes in
+ * parallel int arrays, so equal slots are found through an open-addressing hash table without
+ * touching the slot objects. Slots are stored as read-only {@link TimeSlot} copies, and every
+ * change publishes a new unmodifiable list of them, so reading the slots allocates nothing and
+ * a list handed out earlier never changes. A removed slot leaves an empty position behind, so
+ * no other slot moves; the positions are compacted once they outnumber the slots.
+ * Changes must be made from one thread at a time.
+ */
+final class PackedTimeSlots {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private TimeSlot[] slots = new TimeSlot[INITIAL_CAPACITY]; // Read-only copies, null where a slot was removed
+    private int size; // Number of slots
+    private int used; // Number of positions in use, including those of removed slots
+
+    private int[] table = new int[INITIAL_CAPACITY * 2]; // Slot index + 1, or 0 for an empty bucket
+    private volatile List<TimeSlot> snapshot = Collections.emptyList(); // Published on every change
+
+    /**
+     * Gets the number of slots in the set.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the set is empty.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds a time slot unless an equal slot is already present.
+     *
+     * @param timeSlot The time slot to add
+     * @return true if the slot was added
+     */
+    boolean add(TimeSlot timeSlot) {
+        if (!insertSlot(timeSlot)) {
+            return false;
+        }
+        publish();
+        return true;
+    }
+
+    /**
+     * Adds several time slots, skipping ones that are already present, and publishes the
+     * new list of slots once.
+     *
+     * @param timeSlots The time slots to add
+     * @return The number of slots that were added
+     */
+    int addAll(Collection<TimeSlot> timeSlots) {
+        int added = 0;
+        for (TimeSlot timeSlot : timeSlots) {
+            if (insertSlot(timeSlot)) {
+                added++;
+            }
+        }
+        if (added > 0) {
+            publish();
+        }
+        return added;
+    }
+
+    /**
+     * Removes the slot equal to the given time slot, if present.
+     *
+     * @param timeSlot The time slot to remove
+     * @return true if a slot was removed
+     */
+    boolean remove(TimeSlot timeSlot) {
+        if (!removeSlot(timeSlot)) {
+            return false;
+        }
+        publish();
+        return true;
+    }
+
+    /**
+     * Removes some time slots and adds others, and publishes the new list of slots once.
+     * The removals happen first, so a slot can be both removed and added back.
+     *
+     * @param removed The time slots to remove; ones that are not present are skipped
+     * @param added The time slots to add; ones that are already present are skipped
+     */
+    void replace(Collection<TimeSlot> removed, Collection<TimeSlot> added) {
+        boolean changed = false;
+        for (TimeSlot timeSlot : removed) {
+            changed |= removeSlot(timeSlot);
+        }
+        for (TimeSlot timeSlot : added) {
+            changed |= insertSlot(timeSlot);
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    /**
+     * Checks if a slot equal to the given time slot is present.
+     */
+    boolean contains(TimeSlot timeSlot) {
+        return bucketOf(timeSlot) >= 0;
+    }
+
+    /**
+     * Replaces the contents of this set with a copy of another set.
+     *
+     * @param other The set to copy
+     */
+    void copyFrom(PackedTimeSlots other) {
+        starts = other.starts.clone();
+        ends = other.ends.clone();
+        slots = other.slots.clone(); // The slots are read-only, so they can be shared
+        table = other.table.clone();
+        size = other.size;
+        used = other.used;
+        snapshot = other.snapshot;
+    }
+
+    /**
+     * Removes every slot from the set.
+     */
+    void clear() {
+        Arrays.fill(slots, 0, used, null);
+        size = 0;
+        used = 0;
+        Arrays.fill(table, 0);
+        snapshot = Collections.emptyList();
+    }
+
+    /**
+     * Gets an unmodifiable list of every slot in the set, in insertion order. The list and its
+     * read-only time slots are shared between calls and never change; a new list is published
+     * each time the set changes.
+     */
+    List<TimeSlot> snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Adds a time slot to the arrays and the hash table without publishing a new list.
+     *
+     * @return true if the slot was added
+     */
+    private boolean insertSlot(TimeSlot timeSlot) {
+        int start = toEpochMinute(timeSlot.getStartTime());
+        int end = toEpochMinute(timeSlot.getEndTime());
+        if (find(start, end, timeSlot) >= 0) {
+            return false;
+        }
+
+        if (used == starts.length) {
+            starts = Arrays.copyOf(starts, used * 2);
+            ends = Arrays.copyOf(ends, used * 2);
+            slots = Arrays.copyOf(slots, used * 2);
+        }
+        starts[used] = start;
+        ends[used] = end;
+        slots[used] = timeSlot.copy().makeReadOnly();
+        used++;
+        size++;
+
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        } else {
+            insert(used - 1);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a time slot from the arrays and the hash table without publishing a new list.
+     *
+     * @return true if a slot was removed
+     */
+    private boolean removeSlot(TimeSlot timeSlot) {
+        int bucket = bucketOf(timeSlot);
+        if (bucket < 0) {
+            return false;
+        }
+
+        slots[table[bucket] - 1] = null;
+        deleteBucket(bucket);
+        size--;
+        if (used - size > Math.max(size, INITIAL_CAPACITY)) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Publishes a new list of the slots. Lists published earlier keep their own copy of the array.
+     */
+    private void publish() {
+        TimeSlot[] published = new TimeSlot[size];
+        if (size == used) {
+            System.arraycopy(slots, 0, published, 0, size);
+        } else {
+            int next = 0;
+            for (int i = 0; i < used; i++) {
+                if (slots[i] != null) {
+                    published[next++] = slots[i];
+                }
+            }
+        }
+        snapshot = Collections.unmodifiableList(Arrays.asList(published));
+    }
+
+    /**
+     * Moves the slots up over the positions of removed slots, keeping their order.
+     */
+    private void compact() {
+        int next = 0;
+        for (int i = 0; i < used; i++) {
+            if (slots[i] != null) {
+                starts[next] = starts[i];
+                ends[next] = ends[i];
+                slots[next] = slots[i];
+                next++;
+            }
+        }
+        Arrays.fill(slots, next, used, null);
+        used = next;
+        rehash(table.length);
+    }
+
+    /**
+     * Finds the hash table bucket of the slot equal to the given time slot.
+     *
+     * @return The bucket, or -1 if no equal slot is present
+     */
+    private int bucketOf(TimeSlot timeSlot) {
+        if (timeSlot == null || timeSlot.getStartTime() == null || timeSlot.getEndTime() == null) {
+            return -1;
+        }
+        return findBucket(toEpochMinute(timeSlot.getStartTime()), toEpochMinute(timeSlot.getEndTime()), timeSlot);
+    }
+
+    private int find(int start, int end, TimeSlot timeSlot) {
+        int bucket = findBucket(start, end, timeSlot);
+        return bucket >= 0 ? table[bucket] - 1 : -1;
+    }
+
+    private int findBucket(int start, int end, TimeSlot timeSlot) {
+        int mask = table.length - 1;
+        for (int bucket = hash(start, end) & mask; table[bucket] != 0; bucket = (bucket + 1) & mask) {
+            int index = table[bucket] - 1;
+            if (starts[index] == start && ends[index] == end && slots[index].equals(timeSlot)) {
+                return bucket;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Empties a bucket and moves later entries of the same probe run back into the gap,
+     * so that lookups never stop early at it.
+     */
+    private void deleteBucket(int bucket) {
+        int mask = table.length - 1;
+        int hole = bucket;
+        for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+            int index = table[next] - 1;
+            int home = hash(starts[index], ends[index]) & mask;
+            // The entry may move into the hole only if the hole lies between its home bucket and its bucket
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = table[next];
+                hole = next;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private void insert(int index) {
+        int mask = table.length - 1;
+        int bucket = hash(starts[index], ends[index]) & mask;
+        while (table[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        table[bucket] = index + 1;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        for (int i = 0; i < used; i++) {
+            if (slots[i] != null) {
+                insert(i);
+            }
+        }
+    }
+
+    private static int hash(int start, int end) {
+        int h = start * 31 + end;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Converts a date and time to minutes since 1970-01-01T00:00, rounding down.
+     *
+     * @throws IllegalArgumentException if the time is too far from 1970 to fit in an int
+     */
+    static int toEpochMinute(LocalDateTime time) {
+        long minute = Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+        if (minute < Integer.MIN_VALUE || minute > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Time is out of the supported range: " + time);
+        }
+        return (int) minute;
+    }
+}
@@ -0,0 +1,315 @@
+package org.example.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Represents a weekly availability pattern, such as "Mon/Wed 18:00-21:00", optionally
+ * bounded by a first and last date and with individual dates excluded.
+ * Occurrences are not stored; they are worked out for a date when it is queried.
+ */
+public class RecurringAvailability {
+    @JsonProperty("daysOfWeek")
+    private Set<DayOfWeek> daysOfWeek;
+
+    @JsonProperty("startTime")
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime startTime;
+
+    @JsonProperty("endTime")
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime endTime;
+
+    @JsonProperty("startDate")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+
+    @JsonProperty("endDate")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    @JsonProperty("exceptions")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private Set<LocalDate> exceptions;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    public RecurringAvailability() {
+        this.daysOfWeek = EnumSet.noneOf(DayOfWeek.class);
+        this.exceptions = new TreeSet<>();
+    }
+
+    /**
+     * Creates a new weekly availability pattern without date bounds.
+     *
+     * @param daysOfWeek The days of the week the pattern applies to
+     * @param startTime The time availability starts on each of those days
+     * @param endTime The time availability ends on each of those days
+     */
+    public RecurringAvailability(Set<DayOfWeek> daysOfWeek, LocalTime startTime, LocalTime endTime) {
+        this(daysOfWeek, startTime, endTime, null, null);
+    }
+
+    /**
+     * Creates a new weekly availability pattern.
+     *
+     * @param daysOfWeek The days of the week the pattern applies to
+     * @param startTime The time availability starts on each of those days
+     * @param endTime The time availability ends on each of those days
+     * @param startDate The first date the pattern applies to, or null for no lower bound
+     * @param endDate The last date the pattern applies to, or null for no upper bound
+     */
+    public RecurringAvailability(Set<DayOfWeek> daysOfWeek, LocalTime startTime, LocalTime endTime,
+                                 LocalDate startDate, LocalDate endDate) {
+        if (daysOfWeek == null || daysOfWeek.isEmpty()) {
+            throw new IllegalArgumentException("At least one day of the week is required");
+        }
+        if (startTime == null || endTime == null) {
+            throw new IllegalArgumentException("Start time and end time cannot be null");
+        }
+        if (!startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        this.daysOfWeek = EnumSet.copyOf(daysOfWeek);
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.exceptions = new TreeSet<>();
+    }
+
+    /**
+     * Gets the days of the week this pattern applies to.
+     *
+     * @return The days of the week
+     */
+    public Set<DayOfWeek> getDaysOfWeek() {
+        return daysOfWeek.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(daysOfWeek);
+    }
+
+    /**
+     * Sets the days of the week this pattern applies to.
+     *
+     * @param daysOfWeek The new days of the week
+     */
+    public void setDaysOfWeek(Set<DayOfWeek> daysOfWeek) {
+        this.daysOfWeek = daysOfWeek != null && !daysOfWeek.isEmpty()
+                ? EnumSet.copyOf(daysOfWeek) : EnumSet.noneOf(DayOfWeek.class);
+    }
+
+    /**
+     * Gets the time availability starts on each matching day.
+     *
+     * @return The start time
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Sets the time availability starts on each matching day.
+     *
+     * @param startTime The new start time
+     */
+    public void setStartTime(LocalTime startTime) {
+        if (startTime == null) {
+            throw new IllegalArgumentException("Start time cannot be null");
+        }
+        if (endTime != null && !startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        this.startTime = startTime;
+    }
+
+    /**
+     * Gets the time availability ends on each matching day.
+     *
+     * @return The end time
+     */
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Sets the time availability ends on each matching day.
+     *
+     * @param endTime The new end time
+     */
+    public void setEndTime(LocalTime endTime) {
+        if (endTime == null) {
+            throw new IllegalArgumentException("End time cannot be null");
+        }
+        if (startTime != null && !startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        this.endTime = endTime;
+    }
+
+    /**
+     * Gets the first date this pattern applies to.
+     *
+     * @return The start date, or null if there is no lower bound
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Sets the first date this pattern applies to.
+     *
+     * @param startDate The new start date, or null for no lower bound
+     */
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    /**
+     * Gets the last date this pattern applies to.
+     *
+     * @return The end date, or null if there is no upper bound
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Sets the last date this pattern applies to.
+     *
+     * @param endDate The new end date, or null for no upper bound
+     */
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    /**
+     * Gets the dates excluded from this pattern.
+     *
+     * @return The excluded dates, in order
+     */
+    public Set<LocalDate> getExceptions() {
+        return new TreeSet<>(exceptions);
+    }
+
+    /**
+     * Sets the dates excluded from this pattern.
+     *
+     * @param exceptions The new excluded dates
+     */
+    public void setExceptions(Set<LocalDate> exceptions) {
+        this.exceptions = exceptions != null ? new TreeSet<>(exceptions) : new TreeSet<>();
+    }
+
+    /**
+     * Excludes a single date from this pattern.
+     *
+     * @param date The date to exclude
+     * @return true if the date was not excluded before
+     */
+    public boolean addException(LocalDate date) {
+        return date != null && exceptions.add(date);
+    }
+
+    /**
+     * Stops excluding a date from this pattern.
+     *
+     * @param date The date to include again
+     * @return true if the date was excluded before
+     */
+    public boolean removeException(LocalDate date) {
+        return exceptions.remove(date);
+    }
+
+    /**
+     * Checks if this pattern makes the member available on a specific date.
+     *
+     * @param date The date to check
+     * @return true if the pattern has an occurrence on that date
+     */
+    public boolean occursOn(LocalDate date) {
+        if (date == null || startTime == null || endTime == null || !daysOfWeek.contains(date.getDayOfWeek())) {
+            return false;
+        }
+        if ((startDate != null && date.isBefore(startDate)) || (endDate != null && date.isAfter(endDate))) {
+            return false;
+        }
+        return !exceptions.contains(date);
+    }
+
+    /**
+     * Gets the occurrence of this pattern on a specific date.
+     *
+     * @param date The date to get the occurrence for
+     * @return The time slot of the occurrence, or null if the pattern does not occur on that date
+     */
+    public TimeSlot getTimeSlotOn(LocalDate date) {
+        if (!occursOn(date)) {
+            return null;
+        }
+        return new TimeSlot(date.atTime(startTime), date.atTime(endTime));
+    }
+
+    /**
+     * Creates a copy of this pattern.
+     *
+     * @return A new RecurringAvailability with the same properties
+     */
+    public RecurringAvailability copy() {
+        RecurringAvailability copy = new RecurringAvailability();
+        copy.daysOfWeek = getDaysOfWeek();
+        copy.startTime = startTime;
+        copy.endTime = endTime;
+        copy.startDate = startDate;
+        copy.endDate = endDate;
+        copy.exceptions = new TreeSet<>(exceptions);
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        RecurringAvailability other = (RecurringAvailability) obj;
+        return Objects.equals(daysOfWeek, other.daysOfWeek) &&
+               Objects.equals(startTime, other.startTime) &&
+               Objects.equals(endTime, other.endTime) &&
+               Objects.equals(startDate, other.startDate) &&
+               Objects.equals(endDate, other.endDate) &&
+               Objects.equals(exceptions, other.exceptions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(daysOfWeek, startTime, endTime, startDate, endDate, exceptions);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (DayOfWeek day : daysOfWeek) {
+            if (sb.length() > 0) {
+                sb.append('/');
+            }
+            String name = day.name();
+            sb.append(name.charAt(0)).append(name.substring(1, 3).toLowerCase());
+        }
+        sb.append(' ').append(startTime).append('-').append(endTime);
+        if (startDate != null || endDate != null) {
+            sb.append(" (").append(startDate != null ? startDate : "...")
+              .append(" to ").append(endDate != null ? endDate : "...").append(')');
+        }
+        return sb.toString();
+    }
+}
@@ -4,14 +4,19 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 /**
  * Represents a schedule containing a collection of time slots with conflict-free scheduling.
  */
 public class Schedule {
-    private List<TimeSlot> timeSlots;
+    // Keyed by start time. Slots never overlap, so their end times are in the same order.
+    private NavigableMap<LocalDateTime, TimeSlot> timeSlots;
     private Member owner;
 
     /**
@@ -20,7 +25,7 @@ public class Schedule {
      * @param owner The member who owns this schedule
      */
     public Schedule(Member owner) {
-        this.timeSlots = new ArrayList<>();
+        this.timeSlots = new TreeMap<>();
         this.owner = owner;
     }
 
@@ -34,12 +39,12 @@ public class Schedule {
     }
 
     /**
-     * Gets all time slots in this schedule.
+     * Gets all time slots in this schedule, ordered by start time.
      *
      * @return A list of time slots
      */
     public List<TimeSlot> getTimeSlots() {
-        return new ArrayList<>(timeSlots);
+        return new ArrayList<>(timeSlots.values());
     }
 
     /**
@@ -49,15 +54,13 @@ public class Schedule {
      * @return true if the time slot was added successfully, false if there was a conflict
      */
     public boolean addTimeSlot(TimeSlot timeSlot) {
-        // Check for conflicts with existing time slots
-        if (hasConflict(timeSlot)) {
+        // Check for conflicts with existing time slots; an equal slot is a conflict too
+        if (timeSlot == null || hasConflict(timeSlot)) {
             return false;
         }
 
-        if (!timeSlots.contains(timeSlot)) {
-            return timeSlots.add(timeSlot);
-        }
-        return false;
+        timeSlots.put(timeSlot.getStartTime(), timeSlot);
+        return true;
     }
 
     /**
@@ -67,12 +70,12 @@ public class Schedule {
      * @return true if there is a conflict, false otherwise
      */
     public boolean hasConflict(TimeSlot newTimeSlot) {
-        for (TimeSlot existingSlot : timeSlots) {
-            if (existingSlot.overlaps(newTimeSlot)) {
-                return true;
-            }
+        if (newTimeSlot == null) {
+            return false;
         }
-        return false;
+        // The last slot starting before the new one ends is the only candidate that can still overlap
+        Map.Entry<LocalDateTime, TimeSlot> lower = timeSlots.lowerEntry(newTimeSlot.getEndTime());
+        return lower != null && lower.getValue().overlaps(newTimeSlot);
     }
 
     /**
@@ -83,11 +86,17 @@ public class Schedule {
      */
     public List<TimeSlot> getConflictingSlots(TimeSlot timeSlot) {
         List<TimeSlot> conflicts = new ArrayList<>();
-        for (TimeSlot existingSlot : timeSlots) {
-            if (existingSlot.overlaps(timeSlot)) {
-                conflicts.add(existingSlot);
-            }
+        if (timeSlot == null) {
+            return conflicts;
+        }
+
+        // A slot starting earlier can only overlap if it is the nearest one; every slot
+        // starting inside the new slot overlaps it
+        Map.Entry<LocalDateTime, TimeSlot> floor = timeSlots.lowerEntry(timeSlot.getStartTime());
+        if (floor != null && floor.getValue().overlaps(timeSlot)) {
+            conflicts.add(floor.getValue());
         }
+        conflicts.addAll(timeSlots.subMap(timeSlot.getStartTime(), true, timeSlot.getEndTime(), false).values());
         return conflicts;
     }
 
@@ -101,13 +110,67 @@ public class Schedule {
         List<TimeSlot> conflicts = getConflictingSlots(timeSlot);
 
         if (conflicts.isEmpty()) {
-            boolean added = addTimeSlot(timeSlot);
+            boolean added = timeSlot != null;
+            if (added) {
+                timeSlots.put(timeSlot.getStartTime(), timeSlot);
+            }
             return new ScheduleResult(added, new ArrayList<>());
         } else {
             return new ScheduleResult(false, conflicts);
         }
     }
 
+    /**
+     * Adds several time slots at once and returns conflict information for each of them.
+     * The batch is sorted by start time and walked alongside the existing slots in one pass.
+     * A slot is added if it overlaps neither an existing slot nor a batch slot that was added
+     * before it in start order; otherwise its result lists those conflicting slots.
+     *
+     * @param newTimeSlots The time slots to add
+     * @return One ScheduleResult per time slot, in the order the slots were given
+     */
+    public List<ScheduleResult> addAll(List<TimeSlot> newTimeSlots) {
+        ScheduleResult[] results = new ScheduleResult[newTimeSlots.size()];
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < newTimeSlots.size(); i++) {
+            if (newTimeSlots.get(i) == null) {
+                results[i] = new ScheduleResult(false, new ArrayList<>());
+            } else {
+                order.add(i);
+            }
+        }
+        order.sort(Comparator.comparing(i -> newTimeSlots.get(i).getStartTime()));
+
+        List<TimeSlot> existing = new ArrayList<>(timeSlots.values());
+        List<TimeSlot> accepted = new ArrayList<>();
+        int next = 0; // First existing slot that ends after the current batch slot starts
+        for (int i : order) {
+            TimeSlot timeSlot = newTimeSlots.get(i);
+            while (next < existing.size() && !existing.get(next).getEndTime().isAfter(timeSlot.getStartTime())) {
+                next++;
+            }
+
+            List<TimeSlot> conflicts = new ArrayList<>();
+            for (int j = next; j < existing.size() && existing.get(j).getStartTime().isBefore(timeSlot.getEndTime()); j++) {
+                conflicts.add(existing.get(j));
+            }
+            // Accepted batch slots are disjoint and sorted, so only the latest one can reach this far
+            if (!accepted.isEmpty() && accepted.get(accepted.size() - 1).overlaps(timeSlot)) {
+                conflicts.add(accepted.get(accepted.size() - 1));
+            }
+
+            if (conflicts.isEmpty()) {
+                accepted.add(timeSlot);
+            }
+            results[i] = new ScheduleResult(conflicts.isEmpty(), conflicts);
+        }
+
+        for (TimeSlot timeSlot : accepted) {
+            timeSlots.put(timeSlot.getStartTime(), timeSlot);
+        }
+        return Arrays.asList(results);
+    }
+
     /**
      * Removes a time slot from this schedule.
      *
@@ -115,7 +178,10 @@ public class Schedule {
      * @return true if the time slot was removed, false otherwise
      */
     public boolean removeTimeSlot(TimeSlot timeSlot) {
-        return timeSlots.remove(timeSlot);
+        if (timeSlot == null) {
+            return false;
+        }
+        return timeSlots.remove(timeSlot.getStartTime(), timeSlot);
     }
 
     /**
@@ -125,9 +191,8 @@ public class Schedule {
      * @return A list of time slots on the specified date
      */
     public List<TimeSlot> getTimeSlotsOnDate(LocalDate date) {
-        return timeSlots.stream()
-                .filter(slot -> slot.getStartTime().toLocalDate().equals(date))
-                .collect(Collectors.toList());
+        LocalDateTime dayStart = date.atStartOfDay();
+        return new ArrayList<>(timeSlots.subMap(dayStart, true, dayStart.plusDays(1), false).values());
     }
 
     /**
@@ -137,11 +202,76 @@ public class Schedule {
      * @return true if there is a time slot that contains the specified date and time, false otherwise
      */
     public boolean isAvailableAt(LocalDateTime dateTime) {
-        return timeSlots.stream()
-                .anyMatch(slot ->
-                    !dateTime.isBefore(slot.getStartTime()) &&
-                    !dateTime.isAfter(slot.getEndTime())
-                );
+        // Only the last slot starting at or before the instant can contain it
+        Map.Entry<LocalDateTime, TimeSlot> floor = timeSlots.floorEntry(dateTime);
+        return floor != null && !dateTime.isAfter(floor.getValue().getEndTime());
+    }
+
+    /**
+     * Gets the free windows between the scheduled time slots within a range.
+     *
+     * @param from The start of the range
+     * @param to The end of the range
+     * @param minDurationMinutes The minimum length of a window to report, in minutes
+     * @return The free windows of at least the given length, in time order
+     * @throws IllegalArgumentException if the range ends before it starts
+     */
+    public List<TimeSlot> freeWindows(LocalDateTime from, LocalDateTime to, int minDurationMinutes) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range end must not be before its start");
+        }
+        List<TimeSlot> windows = new ArrayList<>();
+        LocalDateTime free = from;
+
+        // Start from the slot that may already be running at the start of the range
+        Map.Entry<LocalDateTime, TimeSlot> floor = timeSlots.lowerEntry(from);
+        if (floor != null && floor.getValue().getEndTime().isAfter(free)) {
+            free = floor.getValue().getEndTime();
+        }
+
+        for (TimeSlot busy : timeSlots.subMap(from, true, to, false).values()) {
+            addFreeWindow(windows, free, busy.getStartTime(), minDurationMinutes);
+            free = busy.getEndTime();
+        }
+        addFreeWindow(windows, free, to, minDurationMinutes);
+        return windows;
+    }
+
+    private static void addFreeWindow(List<TimeSlot> windows, LocalDateTime start, LocalDateTime end, int minDurationMinutes) {
+        if (start.isBefore(end) && !start.plusMinutes(minDurationMinutes).isAfter(end)) {
+            windows.add(new TimeSlot(start, end));
+        }
+    }
+
+    /**
+     * Finds the earliest free time slot of the given length that starts no earlier than a given time.
+     * Useful for offering the nearest alternative when a time slot conflicts.
+     *
+     * @param after The earliest start time to consider
+     * @param durationMinutes The length of the slot in minutes
+     * @return The earliest free time slot of that length
+     */
+    public TimeSlot nextFreeSlot(LocalDateTime after, int durationMinutes) {
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        LocalDateTime start = after;
+
+        Map.Entry<LocalDateTime, TimeSlot> floor = timeSlots.lowerEntry(after);
+        if (floor != null && floor.getValue().getEndTime().isAfter(start)) {
+            start = floor.getValue().getEndTime();
+        }
+
+        // Walk forward over the busy slots until a gap is long enough. Every skipped slot has to be
+        // looked at to measure the gap after it, so a galloping search could not skip any of them;
+        // the one jump it would save is the floor lookup above.
+        for (TimeSlot busy : timeSlots.tailMap(start, true).values()) {
+            if (!start.plusMinutes(durationMinutes).isAfter(busy.getStartTime())) {
+                break;
+            }
+            start = busy.getEndTime();
+        }
+        return new TimeSlot(start, start.plusMinutes(durationMinutes));
     }
 
     /**
@@ -1,23 +1,85 @@
 package org.example.model;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Represents a study group with members and functionality to find common available time slots.
  */
 public class StudyGroup {
+    private static final int GROUP_SLOT_CACHE_SIZE = 128;
+    static final int TRACKED_ATTENDANCE_DAYS = 62;
+
     private String name;
     private List<Member> members;
-    private List<TimeSlot> timeSlots;  // Add this field
+    private Map<MemberKey, List<Member>> memberLookup; // Members by name, email and group, for duplicate checks
+    private volatile List<Member> memberSnapshot; // Immutable copy of members, republished whenever they change
+    private PackedTimeSlots timeSlots;  // Epoch-minute arrays with a hash index; views are created on read
     private LocalTime defaultStartTime;
     private LocalTime defaultEndTime;
     private int minimumMembersRequired;
     private boolean emergencyScheduling;
 
+    // Per 5-minute quantum count of available members, maintained incrementally for the most recently
+    // used days; the least recently used day is dropped once too many are tracked
+    private final Map<LocalDate, int[]> attendanceCounts =
+            new LinkedHashMap<LocalDate, int[]>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<LocalDate, int[]> eldest) {
+                    return size() > TRACKED_ATTENDANCE_DAYS;
+                }
+            };
+    private final List<CommonSlotListener> commonSlotListeners = new CopyOnWriteArrayList<>();
+    // Results of findCommonTimeSlotsForGroup; entries go stale once their group's version moves on
+    private final Map<GroupSlotQuery, List<TimeSlot>> groupSlotCache =
+            new LinkedHashMap<GroupSlotQuery, List<TimeSlot>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<GroupSlotQuery, List<TimeSlot>> eldest) {
+                    return size() > GROUP_SLOT_CACHE_SIZE;
+                }
+            };
+    private final Map<String, Long> groupVersions = new ConcurrentHashMap<>();
+
+    // Members by exact group name, plus members without a group, in the order they joined, keyed by identity
+    private final Map<String, Map<MemberRef, Member>> membersByGroup = new HashMap<>();
+    private final Map<MemberRef, Member> ungroupedMembers = new LinkedHashMap<>();
+
+    private final MemberListener memberListener = new MemberListener() {
+        @Override
+        public void availabilityChanged(Member member, LocalDate date, long[] gained, long[] lost) {
+            bumpGroupVersion(member.getGroup());
+            applyAvailabilityChange(date, gained, lost);
+        }
+
+        @Override
+        public void availabilityReset(Member member) {
+            bumpGroupVersion(member.getGroup());
+            recountAttendance(null, 0, getRequiredMembers());
+        }
+
+        @Override
+        public void identityChanged(Member member, String previousName, String previousEmail) {
+            rekeyMember(member, new MemberKey(previousName, previousEmail, member.getGroup()));
+        }
+
+        @Override
+        public void groupChanged(Member member, String previousGroup) {
+            rekeyMember(member, new MemberKey(member.getName(), member.getEmail(), previousGroup));
+            unindexMember(member, previousGroup);
+            indexMember(member);
+            bumpGroupVersion(previousGroup);
+            bumpGroupVersion(member.getGroup());
+        }
+    };
+
     /**
      * Creates a new study group with the specified name.
      *
@@ -26,7 +88,9 @@ public class StudyGroup {
     public StudyGroup(String name) {
         this.name = name;
         this.members = new ArrayList<>();
-        this.timeSlots = new ArrayList<>();  // Initialize timeSlots list
+        this.memberSnapshot = Collections.emptyList();
+        this.memberLookup = new HashMap<>();
+        this.timeSlots = new PackedTimeSlots();  // Initialize timeSlots set
         this.defaultStartTime = LocalTime.of(8, 0); // 8:00 AM
         this.defaultEndTime = LocalTime.of(22, 0); // 10:00 PM
         this.minimumMembersRequired = 0; // Default: all members required
@@ -53,11 +117,13 @@ public class StudyGroup {
 
     /**
      * Gets all members in this study group.
+     * The list is an unmodifiable snapshot, published each time members join or leave,
+     * so it is shared between calls and never changes while it is being iterated.
      *
      * @return A list of members
      */
     public List<Member> getMembers() {
-        return new ArrayList<>(members);
+        return memberSnapshot;
     }
 
     /**
@@ -67,12 +133,37 @@ public class StudyGroup {
      * @return true if the member was added, false if they were already in the group
      */
     public boolean addMember(Member member) {
-        if (!members.contains(member)) {
-            return members.add(member);
+        int previousRequired = getRequiredMembers();
+        if (insertMember(member)) {
+            publishMembers();
+            recountAttendance(member, 1, previousRequired);
+            return true;
         }
         return false;
     }
 
+    /**
+     * Adds several members to the study group in one pass. Members already in the group,
+     * or repeated within the collection, are skipped.
+     *
+     * @param newMembers The members to add
+     * @return The number of members that were added
+     */
+    public int addMembers(Collection<Member> newMembers) {
+        int previousRequired = getRequiredMembers();
+        int added = 0;
+        for (Member member : newMembers) {
+            if (insertMember(member)) {
+                added++;
+            }
+        }
+        if (added > 0) {
+            publishMembers();
+            recountAttendance(null, 0, previousRequired);
+        }
+        return added;
+    }
+
     /**
      * Removes a member from the study group.
      *
@@ -80,7 +171,82 @@ public class StudyGroup {
      * @return true if the member was removed, false otherwise
      */
     public boolean removeMember(Member member) {
-        return members.remove(member);
+        if (!memberLookup.containsKey(MemberKey.of(member))) {
+            return false;
+        }
+        int previousRequired = getRequiredMembers();
+        Member removed = members.remove(members.indexOf(member));
+        publishMembers();
+        removeFromLookup(MemberKey.of(removed), removed);
+        unindexMember(removed, removed.getGroup());
+        removed.removeListener(memberListener);
+        bumpGroupVersion(removed.getGroup());
+        recountAttendance(removed, -1, previousRequired);
+        return true;
+    }
+
+    /**
+     * Adds a member to the member list and indexes, without updating attendance counts
+     * or publishing a new member snapshot.
+     *
+     * @param member The member to add
+     * @return true if the member was added, false if they were already in the group
+     */
+    private boolean insertMember(Member member) {
+        MemberKey key = MemberKey.of(member);
+        if (memberLookup.containsKey(key)) {
+            return false;
+        }
+        memberLookup.computeIfAbsent(key, k -> new ArrayList<>(1)).add(member);
+        members.add(member);
+        indexMember(member);
+        member.addListener(memberListener);
+        bumpGroupVersion(member.getGroup());
+        return true;
+    }
+
+    /**
+     * Publishes a new member snapshot after members joined or left. Readers holding the
+     * previous snapshot keep iterating it undisturbed.
+     */
+    private void publishMembers() {
+        memberSnapshot = Collections.unmodifiableList(new ArrayList<>(members));
+    }
+
+    /**
+     * Moves a member's lookup entry after its name, email or group changed, since those
+     * fields make up the member's hash code.
+     *
+     * @param member The member that changed
+     * @param previousKey The key the member was stored under before the change
+     */
+    private void rekeyMember(Member member, MemberKey previousKey) {
+        removeFromLookup(previousKey, member);
+        memberLookup.computeIfAbsent(MemberKey.of(member), k -> new ArrayList<>(1)).add(member);
+    }
+
+    /**
+     * Removes one member instance from the lookup. Several members share a key only when edits
+     * made them equal, so the list under a key almost always holds a single member.
+     */
+    private void removeFromLookup(MemberKey key, Member member) {
+        List<Member> equalMembers = memberLookup.get(key);
+        if (equalMembers != null) {
+            equalMembers.removeIf(each -> each == member);
+            if (equalMembers.isEmpty()) {
+                memberLookup.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Gets the member stored in this group that equals the given one.
+     *
+     * @return The stored member, or null if no equal member is in the group
+     */
+    private Member findMember(Member member) {
+        List<Member> equalMembers = memberLookup.get(MemberKey.of(member));
+        return equalMembers != null ? equalMembers.get(0) : null;
     }
 
     /**
@@ -136,7 +302,9 @@ public class StudyGroup {
      * @param minimumMembersRequired The minimum members required
      */
     public void setMinimumMembersRequired(int minimumMembersRequired) {
+        int previousRequired = getRequiredMembers();
         this.minimumMembersRequired = minimumMembersRequired;
+        recountAttendance(null, 0, previousRequired);
     }
 
     /**
@@ -165,87 +333,783 @@ public class StudyGroup {
      * @return A list of common available time slots
      */
     public List<TimeSlot> findCommonTimeSlots(LocalDate date, int slotDurationMinutes) {
+        return findCommonTimeSlots(members, date, slotDurationMinutes);
+    }
+
+    /**
+     * Finds common available time slots for all members of the study group on every date
+     * in the given range. Days are evaluated in parallel and the results are returned in date order.
+     *
+     * @param from The first date of the range (inclusive)
+     * @param to The last date of the range (inclusive)
+     * @param slotDurationMinutes The duration of each time slot in minutes
+     * @return A list of common available time slots, ordered by date
+     */
+    public List<TimeSlot> findCommonTimeSlots(LocalDate from, LocalDate to, int slotDurationMinutes) {
+        if (from.isAfter(to) || members.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return ForkJoinPool.commonPool().invoke(
+                new CommonSlotsTask(members, from, ChronoUnit.DAYS.between(from, to) + 1, slotDurationMinutes));
+    }
+
+    /**
+     * Fork-join task that splits a date range into per-day queries and concatenates
+     * the results in date order.
+     */
+    private class CommonSlotsTask extends RecursiveTask<List<TimeSlot>> {
+        private static final long serialVersionUID = 1L;
+        private static final int DAYS_PER_TASK = 4;
+
+        private final List<Member> candidates;
+        private final LocalDate firstDate;
+        private final long dayCount;
+        private final int slotDurationMinutes;
+
+        CommonSlotsTask(List<Member> candidates, LocalDate firstDate, long dayCount, int slotDurationMinutes) {
+            this.candidates = candidates;
+            this.firstDate = firstDate;
+            this.dayCount = dayCount;
+            this.slotDurationMinutes = slotDurationMinutes;
+        }
+
+        @Override
+        protected List<TimeSlot> compute() {
+            if (dayCount <= DAYS_PER_TASK) {
+                List<TimeSlot> slots = new ArrayList<>();
+                for (long day = 0; day < dayCount; day++) {
+                    slots.addAll(findCommonTimeSlots(candidates, firstDate.plusDays(day), slotDurationMinutes));
+                }
+                return slots;
+            }
+
+            long half = dayCount / 2;
+            CommonSlotsTask left = new CommonSlotsTask(candidates, firstDate, half, slotDurationMinutes);
+            CommonSlotsTask right = new CommonSlotsTask(candidates, firstDate.plusDays(half), dayCount - half, slotDurationMinutes);
+            left.fork();
+            List<TimeSlot> laterSlots = right.compute();
+            List<TimeSlot> slots = left.join();
+            slots.addAll(laterSlots);
+            return slots;
+        }
+    }
+
+    /**
+     * Finds the earliest time slot of the given length, starting no earlier than {@code after},
+     * during which every member is available. Each member's availability is walked in start
+     * order, jumping to the next interval of whichever member is not free until all of them are.
+     *
+     * @param after The earliest start time to consider
+     * @param until The latest end time to consider
+     * @param slotDurationMinutes The length of the slot in minutes
+     * @return The earliest common time slot, or null if there is none before {@code until}
+     */
+    public TimeSlot findNextCommonTimeSlot(LocalDateTime after, LocalDateTime until, int slotDurationMinutes) {
+        if (slotDurationMinutes <= 0) {
+            throw new IllegalArgumentException("Slot duration must be positive");
+        }
         if (members.isEmpty()) {
+            return null;
+        }
+
+        List<NavigableMap<LocalDateTime, LocalDateTime>> availability = new ArrayList<>();
+        for (Member member : members) {
+            availability.add(member.getAvailabilityOverlapping(after, until));
+        }
+
+        LocalDateTime start = after;
+        boolean moved = true;
+        while (moved) {
+            if (start.plusMinutes(slotDurationMinutes).isAfter(until)) {
+                return null;
+            }
+            moved = false;
+            for (NavigableMap<LocalDateTime, LocalDateTime> intervals : availability) {
+                Map.Entry<LocalDateTime, LocalDateTime> floor = intervals.floorEntry(start);
+                if (floor != null && !floor.getValue().isBefore(start.plusMinutes(slotDurationMinutes))) {
+                    continue; // This member is free for the whole slot
+                }
+                Map.Entry<LocalDateTime, LocalDateTime> next = intervals.higherEntry(start);
+                if (next == null) {
+                    return null;
+                }
+                start = next.getKey();
+                moved = true;
+            }
+        }
+        return new TimeSlot(start, start.plusMinutes(slotDurationMinutes));
+    }
+
+    /**
+     * Ranks the candidate slots on every date in the given range and returns the best ones.
+     * Slots are ordered by the number of available members, then by how close they start to the
+     * default start time, then by how much contiguous time around them is just as well attended.
+     * Only the best {@code limit} slots are kept while scanning, so memory stays bounded however
+     * wide the range is.
+     *
+     * @param from The first date of the range (inclusive)
+     * @param to The last date of the range (inclusive)
+     * @param slotDurationMinutes The duration of each time slot in minutes
+     * @param limit The maximum number of slots to return
+     * @return The best candidate slots, best first
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public List<RankedSlot> rankCandidateSlots(LocalDate from, LocalDate to, int slotDurationMinutes, int limit) {
+        return rankCandidateSlots(members, from, to, slotDurationMinutes, limit);
+    }
+
+    /**
+     * Ranks the candidate slots for members of a specific group on every date in the given range.
+     *
+     * @param groupName The name of the group
+     * @param from The first date of the range (inclusive)
+     * @param to The last date of the range (inclusive)
+     * @param slotDurationMinutes The duration of each time slot in minutes
+     * @param limit The maximum number of slots to return
+     * @return The best candidate slots for the group, best first
+     * @throws IllegalArgumentException if the limit is not positive
+     * @see #rankCandidateSlots(LocalDate, LocalDate, int, int)
+     */
+    public List<RankedSlot> rankCandidateSlotsForGroup(String groupName, LocalDate from, LocalDate to,
+                                                       int slotDurationMinutes, int limit) {
+        return rankCandidateSlots(getMembersByGroup(groupName), from, to, slotDurationMinutes, limit);
+    }
+
+    private List<RankedSlot> rankCandidateSlots(List<Member> candidates, LocalDate from, LocalDate to,
+                                                int slotDurationMinutes, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        int slotCount = getSlotCount(slotDurationMinutes);
+        if (candidates.isEmpty() || slotCount == 0 || from.isAfter(to)) {
+            return Collections.emptyList();
+        }
+
+        // Worst of the kept slots sits at the head so it can be evicted cheaply. The queue never
+        // holds more than the limit or the number of slots in the range, whichever is smaller.
+        long candidateCount = (ChronoUnit.DAYS.between(from, to) + 1) * slotCount;
+        long capacity = Math.min(limit, candidateCount) + 1;
+        PriorityQueue<RankedSlot> best = new PriorityQueue<>(
+                (int) Math.min(capacity, Integer.MAX_VALUE), RankedSlot.BEST_FIRST.reversed());
+
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            int[] availableMembers = countAvailableMembers(candidates, date, slotDurationMinutes, slotCount);
+            int[] runLengths = getRunLengths(availableMembers);
+            LocalDateTime windowStart = LocalDateTime.of(date, defaultStartTime);
+
+            for (int i = 0; i < slotCount; i++) {
+                int attendees = availableMembers[i];
+                if (attendees == 0) {
+                    continue;
+                }
+
+                LocalDateTime slotStart = windowStart.plusMinutes((long) i * slotDurationMinutes);
+                RankedSlot candidate = new RankedSlot(
+                        new TimeSlot(slotStart, slotStart.plusMinutes(slotDurationMinutes)),
+                        attendees,
+                        (long) i * slotDurationMinutes,
+                        (long) runLengths[i] * slotDurationMinutes);
+
+                if (best.size() < limit) {
+                    best.add(candidate);
+                } else if (RankedSlot.BEST_FIRST.compare(candidate, best.peek()) < 0) {
+                    best.poll();
+                    best.add(candidate);
+                }
+            }
+        }
+
+        List<RankedSlot> ranked = new ArrayList<>(best);
+        ranked.sort(RankedSlot.BEST_FIRST);
+        return ranked;
+    }
+
+    /**
+     * Gets, for each slot, the number of consecutive slots around it (itself included) that have
+     * at least as many available members. A single left-to-right pass keeps a stack of slots whose
+     * run has not ended yet: a slot's run ends at the first later slot with fewer members, and
+     * starts after the nearest earlier slot with fewer members.
+     *
+     * @param availableMembers The number of available members for each slot
+     * @return The run length of each slot, in slots
+     */
+    private static int[] getRunLengths(int[] availableMembers) {
+        int slotCount = availableMembers.length;
+        int[] runStarts = new int[slotCount];
+        int[] runLengths = new int[slotCount];
+        int[] open = new int[slotCount]; // Indices of slots whose run is still open, counts non-decreasing
+        int depth = 0;
+        for (int i = 0; i <= slotCount; i++) {
+            int count = i < slotCount ? availableMembers[i] : -1;
+            while (depth > 0 && availableMembers[open[depth - 1]] > count) {
+                int closed = open[--depth];
+                runLengths[closed] = i - runStarts[closed];
+            }
+            if (i == slotCount) {
+                break;
+            }
+            if (depth == 0) {
+                runStarts[i] = 0;
+            } else {
+                int previous = open[depth - 1];
+                runStarts[i] = availableMembers[previous] == count ? runStarts[previous] : previous + 1;
+            }
+            open[depth++] = i;
+        }
+        return runLengths;
+    }
+
+    /**
+     * Finds common available time slots among the given members on the specified date.
+     *
+     * @param candidates The members to consider
+     * @param date The date to find common time slots for
+     * @param slotDurationMinutes The duration of each time slot in minutes
+     * @return A list of common available time slots
+     */
+    private List<TimeSlot> findCommonTimeSlots(List<Member> candidates, LocalDate date, int slotDurationMinutes) {
+        int slotCount = getSlotCount(slotDurationMinutes);
+        if (candidates.isEmpty() || slotCount == 0) {
             return Collections.emptyList();
         }
 
         // Determine the required number of members
         int requiredMembers = minimumMembersRequired > 0 ?
-                Math.min(minimumMembersRequired, members.size()) :
-                members.size();
+                Math.min(minimumMembersRequired, candidates.size()) :
+                candidates.size();
 
+        // If emergency scheduling is enabled every slot qualifies, otherwise enough members must be available
+        long[] qualifying;
+        if (emergencyScheduling) {
+            qualifying = new long[(slotCount + 63) >>> 6];
+            AvailabilityBitmap.setRange(qualifying, 0, slotCount);
+        } else if (requiredMembers == candidates.size() && isQuantumAligned(slotDurationMinutes)) {
+            qualifying = findSlotsAvailableToAll(candidates, date, slotDurationMinutes, slotCount);
+        } else {
+            int[] availableMembers = countAvailableMembers(candidates, date, slotDurationMinutes, slotCount);
+            qualifying = new long[(slotCount + 63) >>> 6];
+            for (int i = 0; i < slotCount; i++) {
+                if (availableMembers[i] >= requiredMembers) {
+                    qualifying[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+
+        LocalDateTime windowStart = LocalDateTime.of(date, defaultStartTime);
         List<TimeSlot> commonSlots = new ArrayList<>();
+        for (int word = 0; word < qualifying.length; word++) {
+            for (long bits = qualifying[word]; bits != 0; bits &= bits - 1) {
+                int i = (word << 6) + Long.numberOfTrailingZeros(bits);
+                LocalDateTime slotStart = windowStart.plusMinutes((long) i * slotDurationMinutes);
+                commonSlots.add(new TimeSlot(slotStart, slotStart.plusMinutes(slotDurationMinutes)));
+            }
+        }
+
+        return commonSlots;
+    }
 
-        // Generate potential time slots for the day
-        List<TimeSlot> potentialSlots = generateTimeSlots(date, slotDurationMinutes);
+    /**
+     * Gets the number of candidate slots of the given duration that fit between the default
+     * start and end times.
+     *
+     * @param slotDurationMinutes The duration of each time slot in minutes
+     * @return The number of candidate slots, or 0 if none fit
+     */
+    private int getSlotCount(int slotDurationMinutes) {
+        if (slotDurationMinutes <= 0) {
+            return 0;
+        }
+        long windowSeconds = Duration.between(defaultStartTime, defaultEndTime).getSeconds();
+        return windowSeconds > 0 ? (int) (windowSeconds / (slotDurationMinutes * 60L)) : 0;
+    }
 
-        // For each potential slot, check if enough members are available
-        for (TimeSlot slot : potentialSlots) {
-            int availableMembers = 0;
+    /**
+     * Checks whether candidate slots of the given duration line up with the 5-minute quanta
+     * of the member availability bitmaps.
+     *
+     * @param slotDurationMinutes The duration of each time slot in minutes
+     * @return true if the bitmaps can answer the query exactly
+     */
+    private boolean isQuantumAligned(int slotDurationMinutes) {
+        return slotDurationMinutes % AvailabilityBitmap.QUANTUM_MINUTES == 0 &&
+               defaultStartTime.toSecondOfDay() % AvailabilityBitmap.QUANTUM_SECONDS == 0 &&
+               defaultStartTime.getNano() == 0;
+    }
 
-            for (Member member : members) {
-                if (isAvailableForSlot(member, slot)) {
-                    availableMembers++;
+    /**
+     * Finds the candidate slots where every given member is available by reducing each member's
+     * day bitmap to one bit per candidate slot and ANDing the results word by word.
+     *
+     * @param candidates The members to consider
+     * @param date The date of the query
+     * @param slotDurationMinutes The duration of each time slot in minutes
+     * @param slotCount The number of candidate slots in the window
+     * @return A bitmap with one bit set for each slot available to all members
+     */
+    private long[] findSlotsAvailableToAll(List<Member> candidates, LocalDate date, int slotDurationMinutes, int slotCount) {
+        int firstQuantum = defaultStartTime.toSecondOfDay() / AvailabilityBitmap.QUANTUM_SECONDS;
+        int quantaPerSlot = slotDurationMinutes / AvailabilityBitmap.QUANTUM_MINUTES;
+        int words = (slotCount + 63) >>> 6;
+
+        long[] common = new long[words];
+        AvailabilityBitmap.setRange(common, 0, slotCount);
+        for (Member member : candidates) {
+            long[] available = toSlotBitmap(member.getAvailabilityBitmap(date), firstQuantum, quantaPerSlot, slotCount);
+            long remaining = 0;
+            for (int i = 0; i < words; i++) {
+                common[i] &= available[i];
+                remaining |= common[i];
+            }
+            if (remaining == 0) {
+                break;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Counts, for each candidate slot of the day, how many of the given members are available.
+     * Uses the per-day member bitmaps when the slot grid lines up with them, and the sweep-line
+     * count otherwise.
+     *
+     * @param candidates The members to consider
+     * @param date The date of the query
+     * @param slotDurationMinutes The duration of each time slot in minutes
+     * @param slotCount The number of candidate slots in the window
+     * @return An array holding the number of available members for each candidate slot
+     */
+    private int[] countAvailableMembers(List<Member> candidates, LocalDate date, int slotDurationMinutes, int slotCount) {
+        if (!isQuantumAligned(slotDurationMinutes)) {
+            return countAvailableMembers(candidates, LocalDateTime.of(date, defaultStartTime),
+                    slotDurationMinutes * 60L, slotCount);
+        }
+
+        int firstQuantum = defaultStartTime.toSecondOfDay() / AvailabilityBitmap.QUANTUM_SECONDS;
+        int quantaPerSlot = slotDurationMinutes / AvailabilityBitmap.QUANTUM_MINUTES;
+        int words = (slotCount + 63) >>> 6;
+
+        int[] availableMembers = new int[slotCount];
+        for (Member member : candidates) {
+            long[] available = toSlotBitmap(member.getAvailabilityBitmap(date), firstQuantum, quantaPerSlot, slotCount);
+            for (int word = 0; word < words; word++) {
+                for (long bits = available[word]; bits != 0; bits &= bits - 1) {
+                    availableMembers[(word << 6) + Long.numberOfTrailingZeros(bits)]++;
                 }
+            }
+        }
+        return availableMembers;
+    }
+
+    /**
+     * Reduces a per-quantum day bitmap to one bit per candidate slot, set when any quantum
+     * covered by the slot is available.
+     */
+    private static long[] toSlotBitmap(long[] dayBits, int firstQuantum, int quantaPerSlot, int slotCount) {
+        long[] slotBits = new long[(slotCount + 63) >>> 6];
+        int quantum = firstQuantum;
+        for (int i = 0; i < slotCount; i++, quantum += quantaPerSlot) {
+            if (AvailabilityBitmap.anyInRange(dayBits, quantum, quantum + quantaPerSlot)) {
+                slotBits[i >>> 6] |= 1L << i;
+            }
+        }
+        return slotBits;
+    }
+
+    /**
+     * Counts, for each candidate slot of the day, how many members have availability overlapping it.
+     * Each member's merged availability intervals inside the window are mapped onto the range of
+     * candidate slots they overlap, touching ranges are merged so that a member is counted at most
+     * once per slot, and the resulting endpoints are swept once to produce a running count per slot.
+     *
+     * @param candidates The members to consider
+     * @param windowStart The start of the first candidate slot
+     * @param slotSeconds The length of each candidate slot in seconds
+     * @param slotCount The number of candidate slots in the window
+     * @return An array holding the number of available members for each candidate slot
+     */
+    private int[] countAvailableMembers(List<Member> candidates, LocalDateTime windowStart, long slotSeconds, int slotCount) {
+        // delta[i] is the change in the running member count when the sweep reaches slot i
+        int[] delta = new int[slotCount + 1];
+        LocalDateTime windowEnd = windowStart.plusSeconds(slotSeconds * slotCount);
+
+        for (Member member : candidates) {
+            // Intervals come back disjoint and in start order, so their slot ranges are already sorted
+            long first = -1;
+            long last = -1;
+
+            for (Map.Entry<LocalDateTime, LocalDateTime> interval :
+                    member.getAvailabilityOverlapping(windowStart, windowEnd).entrySet()) {
+                long start = ChronoUnit.SECONDS.between(windowStart, interval.getKey());
+                long end = ChronoUnit.SECONDS.between(windowStart, interval.getValue());
 
-                // If we have enough members, or emergency scheduling is enabled, add the slot
-                if (availableMembers >= requiredMembers || emergencyScheduling) {
-                    commonSlots.add(slot);
-                    break;
+                // Slot i overlaps (start, end) when start < (i + 1) * slotSeconds and end > i * slotSeconds
+                long rangeFirst = Math.max(Math.floorDiv(start, slotSeconds), 0);
+                long rangeLast = Math.min(Math.floorDiv(end - 1, slotSeconds), slotCount - 1);
+
+                if (first >= 0 && rangeFirst <= last + 1) {
+                    last = Math.max(last, rangeLast);
+                } else {
+                    if (first >= 0) {
+                        delta[(int) first]++;
+                        delta[(int) last + 1]--;
+                    }
+                    first = rangeFirst;
+                    last = rangeLast;
                 }
             }
+
+            if (first >= 0) {
+                delta[(int) first]++;
+                delta[(int) last + 1]--;
+            }
         }
 
-        return commonSlots;
+        int[] counts = new int[slotCount];
+        int running = 0;
+        for (int i = 0; i < slotCount; i++) {
+            running += delta[i];
+            counts[i] = running;
+        }
+        return counts;
     }
 
     /**
-     * Generates potential time slots for the specified date using the default time range.
+     * Gets the number of members available at a specific point in time, to 5-minute precision.
      *
-     * @param date The date to generate slots for
-     * @param slotDurationMinutes The duration of each slot in minutes
-     * @return A list of time slots
+     * @param dateTime The date and time to check
+     * @return The number of members with availability in that 5-minute quantum
      */
-    private List<TimeSlot> generateTimeSlots(LocalDate date, int slotDurationMinutes) {
-        List<TimeSlot> slots = new ArrayList<>();
+    public int getAvailableMemberCount(LocalDateTime dateTime) {
+        int quantum = dateTime.toLocalTime().toSecondOfDay() / AvailabilityBitmap.QUANTUM_SECONDS;
+        return getAttendanceCounts(dateTime.toLocalDate())[quantum];
+    }
 
-        LocalDateTime startDateTime = LocalDateTime.of(date, defaultStartTime);
-        LocalDateTime endDateTime = LocalDateTime.of(date, defaultEndTime);
+    /**
+     * Gets the maximal time ranges of a day, to 5-minute precision, during which enough members are
+     * available to meet the quorum. The per-quantum counts behind this are kept up to date as members
+     * edit their availability, so repeated calls do not rescan member availability.
+     *
+     * @param date The day to get the common time ranges for
+     * @return The common time ranges of the day in time order
+     */
+    public List<TimeSlot> getCommonWindows(LocalDate date) {
+        return toTimeSlots(date, getCommonQuanta(getAttendanceCounts(date), getRequiredMembers()));
+    }
 
-        while (startDateTime.plusMinutes(slotDurationMinutes).isBefore(endDateTime) ||
-               startDateTime.plusMinutes(slotDurationMinutes).equals(endDateTime)) {
+    /**
+     * Finds the maximal windows between the default start and end times of a day during which
+     * enough members are available to meet the quorum, to the exact minute. Unlike
+     * {@link #findCommonTimeSlots(LocalDate, int)}, which counts a member for any slot their
+     * availability touches, a member only counts for the time they are actually available.
+     * The longest shared slot and the slots of every duration can be read from the same windows
+     * without another scan. With a quorum below the full group, different members may cover
+     * different parts of a window.
+     *
+     * @param date The date to find common windows for
+     * @return The maximal common windows in time order
+     */
+    public List<TimeSlot> findMaximalCommonWindows(LocalDate date) {
+        return findMaximalCommonWindows(members, date);
+    }
 
-            TimeSlot slot = new TimeSlot(
-                startDateTime,
-                startDateTime.plusMinutes(slotDurationMinutes)
-            );
+    /**
+     * Finds the maximal common windows of a day for the members of a specific group.
+     *
+     * @param groupName The name of the group
+     * @param date The date to find common windows for
+     * @return The maximal common windows in time order
+     * @see #findMaximalCommonWindows(LocalDate)
+     */
+    public List<TimeSlot> findMaximalCommonWindowsForGroup(String groupName, LocalDate date) {
+        return findMaximalCommonWindows(getMembersByGroup(groupName), date);
+    }
 
-            slots.add(slot);
-            startDateTime = startDateTime.plusMinutes(slotDurationMinutes);
+    /**
+     * Finds the longest window of a day during which enough members are available to meet the quorum.
+     *
+     * @param date The date to search
+     * @return The longest common window, the earliest one if several are equally long,
+     *         or null if there is none
+     */
+    public TimeSlot findLongestCommonWindow(LocalDate date) {
+        return findLongest(findMaximalCommonWindows(date));
+    }
+
+    /**
+     * Finds the longest common window of a day for the members of a specific group.
+     *
+     * @param groupName The name of the group
+     * @param date The date to search
+     * @return The longest common window, or null if there is none
+     * @see #findLongestCommonWindow(LocalDate)
+     */
+    public TimeSlot findLongestCommonWindowForGroup(String groupName, LocalDate date) {
+        return findLongest(findMaximalCommonWindowsForGroup(groupName, date));
+    }
+
+    private static TimeSlot findLongest(List<TimeSlot> windows) {
+        TimeSlot longest = null;
+        for (TimeSlot window : windows) {
+            if (longest == null || window.getDurationMinutes() > longest.getDurationMinutes()) {
+                longest = window;
+            }
         }
+        return longest;
+    }
 
+    /**
+     * Splits common windows into back-to-back slots of the given length, each starting at the
+     * beginning of its window or at the end of the previous slot.
+     *
+     * @param windows The windows to split, such as those from {@link #findMaximalCommonWindows(LocalDate)}
+     * @param slotDurationMinutes The length of each slot in minutes
+     * @return The slots that fit completely inside the windows, in order
+     */
+    public static List<TimeSlot> splitIntoSlots(List<TimeSlot> windows, int slotDurationMinutes) {
+        List<TimeSlot> slots = new ArrayList<>();
+        if (slotDurationMinutes <= 0) {
+            return slots;
+        }
+        for (TimeSlot window : windows) {
+            LocalDateTime slotStart = window.getStartTime();
+            LocalDateTime slotEnd = slotStart.plusMinutes(slotDurationMinutes);
+            while (!slotEnd.isAfter(window.getEndTime())) {
+                slots.add(new TimeSlot(slotStart, slotEnd));
+                slotStart = slotEnd;
+                slotEnd = slotStart.plusMinutes(slotDurationMinutes);
+            }
+        }
         return slots;
     }
 
     /**
-     * Checks if a member is available for a specific time slot.
+     * Sweeps the candidates' merged availability within the default time window once, tracking
+     * how many of them are available, and reports the runs where the count meets the quorum.
+     */
+    private List<TimeSlot> findMaximalCommonWindows(List<Member> candidates, LocalDate date) {
+        List<TimeSlot> windows = new ArrayList<>();
+        LocalDateTime windowStart = date.atTime(defaultStartTime);
+        LocalDateTime windowEnd = date.atTime(defaultEndTime);
+        if (candidates.isEmpty() || !windowStart.isBefore(windowEnd)) {
+            return windows;
+        }
+        int requiredMembers = minimumMembersRequired > 0 ?
+                Math.min(minimumMembersRequired, candidates.size()) : candidates.size();
+
+        NavigableMap<LocalDateTime, Integer> changes = new TreeMap<>();
+        for (Member member : candidates) {
+            for (Map.Entry<LocalDateTime, LocalDateTime> interval
+                    : member.getAvailabilityOverlapping(windowStart, windowEnd).entrySet()) {
+                LocalDateTime start = interval.getKey().isBefore(windowStart) ? windowStart : interval.getKey();
+                LocalDateTime end = interval.getValue().isAfter(windowEnd) ? windowEnd : interval.getValue();
+                changes.merge(start, 1, Integer::sum);
+                changes.merge(end, -1, Integer::sum);
+            }
+        }
+
+        int available = 0;
+        LocalDateTime runStart = null;
+        for (Map.Entry<LocalDateTime, Integer> change : changes.entrySet()) {
+            available += change.getValue();
+            if (available >= requiredMembers && runStart == null) {
+                runStart = change.getKey();
+            } else if (available < requiredMembers && runStart != null) {
+                windows.add(new TimeSlot(runStart, change.getKey()));
+                runStart = null;
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * Registers a listener that is told when parts of a day become or stop being common time.
+     * Only days that were already queried through {@link #getCommonWindows(LocalDate)} or
+     * {@link #getAvailableMemberCount(LocalDateTime)} are reported, and of those only the
+     * {@value #TRACKED_ATTENDANCE_DAYS} most recently queried.
      *
-     * @param member The member to check
-     * @param timeSlot The time slot to check
-     * @return true if the member is available, false otherwise
+     * @param listener The listener to add
+     */
+    public void addCommonSlotListener(CommonSlotListener listener) {
+        commonSlotListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener previously added with {@link #addCommonSlotListener(CommonSlotListener)}.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeCommonSlotListener(CommonSlotListener listener) {
+        commonSlotListeners.remove(listener);
+    }
+
+    /**
+     * Gets the number of members that must be available for a time to count as common.
      */
-    private boolean isAvailableForSlot(Member member, TimeSlot timeSlot) {
-        return member.getAvailableTimeSlots().stream()
-                .anyMatch(slot -> slot.overlaps(timeSlot));
+    private int getRequiredMembers() {
+        return minimumMembersRequired > 0 ?
+                Math.min(minimumMembersRequired, members.size()) :
+                members.size();
+    }
+
+    /**
+     * Gets the maintained per-quantum member counts of a day, building them on first use.
+     */
+    private int[] getAttendanceCounts(LocalDate date) {
+        synchronized (attendanceCounts) {
+            return attendanceCounts.computeIfAbsent(date, day -> {
+                int[] counts = new int[AvailabilityBitmap.QUANTA_PER_DAY];
+                for (Member member : members) {
+                    addBits(counts, member.getAvailabilityBitmap(day), 1);
+                }
+                return counts;
+            });
+        }
+    }
+
+    /**
+     * Applies one member's availability edit to the maintained counts of a day. Only the quanta
+     * in the edit are touched, and only those that crossed the quorum are published.
+     */
+    private void applyAvailabilityChange(LocalDate date, long[] gained, long[] lost) {
+        int[] counts;
+        synchronized (attendanceCounts) {
+            counts = attendanceCounts.get(date);
+        }
+        if (counts == null) {
+            return;
+        }
+        int required = Math.max(getRequiredMembers(), 1);
+        long[] becameCommon = new long[AvailabilityBitmap.WORDS_PER_DAY];
+        long[] noLongerCommon = new long[AvailabilityBitmap.WORDS_PER_DAY];
+
+        for (int word = 0; word < gained.length; word++) {
+            for (long bits = gained[word]; bits != 0; bits &= bits - 1) {
+                int quantum = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (++counts[quantum] == required) {
+                    becameCommon[word] |= 1L << quantum;
+                }
+            }
+            for (long bits = lost[word]; bits != 0; bits &= bits - 1) {
+                int quantum = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (counts[quantum]-- == required) {
+                    noLongerCommon[word] |= 1L << quantum;
+                }
+            }
+        }
+
+        publishCommonSlotChanges(date, becameCommon, noLongerCommon);
+    }
+
+    /**
+     * Updates the maintained counts of every tracked day after a member joined or left, after a
+     * member's availability was replaced, or after the quorum changed, and publishes what crossed it.
+     *
+     * @param member The member whose bitmaps should be added or subtracted, or null to recount all members
+     * @param delta 1 to add the member, -1 to subtract it; ignored when member is null
+     * @param previousRequired The quorum before the change
+     */
+    private void recountAttendance(Member member, int delta, int previousRequired) {
+        int required = getRequiredMembers();
+        List<Map.Entry<LocalDate, int[]>> trackedDays;
+        synchronized (attendanceCounts) {
+            // Copied, since a listener may query a day and so reorder the map
+            trackedDays = new ArrayList<>(attendanceCounts.entrySet());
+        }
+        for (Map.Entry<LocalDate, int[]> entry : trackedDays) {
+            LocalDate date = entry.getKey();
+            int[] counts = entry.getValue();
+            long[] before = getCommonQuanta(counts, previousRequired);
+
+            if (member != null) {
+                addBits(counts, member.getAvailabilityBitmap(date), delta);
+            } else {
+                Arrays.fill(counts, 0);
+                for (Member each : members) {
+                    addBits(counts, each.getAvailabilityBitmap(date), 1);
+                }
+            }
+
+            long[] after = getCommonQuanta(counts, required);
+            long[] becameCommon = new long[after.length];
+            long[] noLongerCommon = new long[after.length];
+            for (int i = 0; i < after.length; i++) {
+                becameCommon[i] = after[i] & ~before[i];
+                noLongerCommon[i] = before[i] & ~after[i];
+            }
+            publishCommonSlotChanges(date, becameCommon, noLongerCommon);
+        }
+    }
+
+    private static void addBits(int[] counts, long[] bits, int delta) {
+        for (int word = 0; word < bits.length; word++) {
+            for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                counts[(word << 6) + Long.numberOfTrailingZeros(remaining)] += delta;
+            }
+        }
+    }
+
+    private static long[] getCommonQuanta(int[] counts, int required) {
+        long[] common = new long[AvailabilityBitmap.WORDS_PER_DAY];
+        int threshold = Math.max(required, 1);
+        for (int quantum = 0; quantum < counts.length; quantum++) {
+            if (counts[quantum] >= threshold) {
+                common[quantum >>> 6] |= 1L << quantum;
+            }
+        }
+        return common;
+    }
+
+    private void publishCommonSlotChanges(LocalDate date, long[] becameCommon, long[] noLongerCommon) {
+        if (commonSlotListeners.isEmpty() || (isEmpty(becameCommon) && isEmpty(noLongerCommon))) {
+            return;
+        }
+        List<TimeSlot> gained = toTimeSlots(date, becameCommon);
+        List<TimeSlot> lost = toTimeSlots(date, noLongerCommon);
+        for (CommonSlotListener listener : commonSlotListeners) {
+            listener.commonSlotsChanged(date, gained, lost);
+        }
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts a per-quantum day bitmap into time slots, one per run of consecutive set quanta.
+     */
+    private static List<TimeSlot> toTimeSlots(LocalDate date, long[] quanta) {
+        List<TimeSlot> slots = new ArrayList<>();
+        LocalDateTime midnight = date.atStartOfDay();
+        int quantum = 0;
+        while (quantum < AvailabilityBitmap.QUANTA_PER_DAY) {
+            if ((quanta[quantum >>> 6] & (1L << quantum)) == 0) {
+                quantum++;
+                continue;
+            }
+            int runStart = quantum;
+            while (quantum < AvailabilityBitmap.QUANTA_PER_DAY && (quanta[quantum >>> 6] & (1L << quantum)) != 0) {
+                quantum++;
+            }
+            slots.add(new TimeSlot(
+                    midnight.plusMinutes((long) runStart * AvailabilityBitmap.QUANTUM_MINUTES),
+                    midnight.plusMinutes((long) quantum * AvailabilityBitmap.QUANTUM_MINUTES)));
+        }
+        return slots;
     }
 
     /**
      * Gets all time slots associated with this study group.
+     * The list is an unmodifiable snapshot that is shared between calls until the time slots change.
      *
      * @return A list of time slots
      */
     public List<TimeSlot> getTimeSlots() {
-        return new ArrayList<>(timeSlots);
+        return timeSlots.snapshot();
     }
 
     /**
@@ -255,10 +1119,17 @@ public class StudyGroup {
      * @return true if the time slot was added, false if it already exists
      */
     public boolean addTimeSlot(TimeSlot timeSlot) {
-        if (!timeSlots.contains(timeSlot)) {
-            return timeSlots.add(timeSlot);
-        }
-        return false;
+        return timeSlots.add(timeSlot);
+    }
+
+    /**
+     * Adds several time slots to the study group in one pass, skipping ones that already exist.
+     *
+     * @param newTimeSlots The time slots to add
+     * @return The number of time slots that were added
+     */
+    public int addTimeSlots(Collection<TimeSlot> newTimeSlots) {
+        return timeSlots.addAll(newTimeSlots);
     }
 
     /**
@@ -277,10 +1148,13 @@ public class StudyGroup {
      * @return A set of group names
      */
     public Set<String> getAllGroups() {
-        return members.stream()
-                .filter(Member::hasGroup)
-                .map(Member::getGroup)
-                .collect(Collectors.toSet());
+        Set<String> groups = new HashSet<>();
+        for (String group : membersByGroup.keySet()) {
+            if (isGroupName(group)) {
+                groups.add(group);
+            }
+        }
+        return groups;
     }
 
     /**
@@ -290,9 +1164,11 @@ public class StudyGroup {
      * @return A list of members in the specified group
      */
     public List<Member> getMembersByGroup(String groupName) {
-        return members.stream()
-                .filter(member -> member.belongsToGroup(groupName))
-                .collect(Collectors.toList());
+        if (groupName == null) {
+            return new ArrayList<>();
+        }
+        Map<MemberRef, Member> groupMembers = membersByGroup.get(groupName);
+        return groupMembers != null ? new ArrayList<>(groupMembers.values()) : new ArrayList<>();
     }
 
     /**
@@ -301,9 +1177,7 @@ public class StudyGroup {
      * @return A list of members without group assignments
      */
     public List<Member> getUngroupedMembers() {
-        return members.stream()
-                .filter(member -> !member.hasGroup())
-                .collect(Collectors.toList());
+        return new ArrayList<>(ungroupedMembers.values());
     }
 
     /**
@@ -312,26 +1186,45 @@ public class StudyGroup {
      * @param groupName The name of the group
      * @param date The date to find common time slots for
      * @param slotDurationMinutes The duration of each time slot in minutes
-     * @return A list of common available time slots for the group
+     * @return An unmodifiable list of common available time slots for the group. The list and its
+     *         read-only time slots may be shared with other callers; copy a slot to change it.
      */
     public List<TimeSlot> findCommonTimeSlotsForGroup(String groupName, LocalDate date, int slotDurationMinutes) {
-        List<Member> groupMembers = getMembersByGroup(groupName);
-        if (groupMembers.isEmpty()) {
-            return Collections.emptyList();
-        }
+        GroupSlotQuery query = new GroupSlotQuery(groupName, date, slotDurationMinutes,
+                defaultStartTime, defaultEndTime, minimumMembersRequired, emergencyScheduling,
+                groupVersions.getOrDefault(groupName, 0L));
 
-        // Create a temporary study group with only the group members
-        StudyGroup tempGroup = new StudyGroup("Temp Group");
-        tempGroup.setDefaultStartTime(this.defaultStartTime);
-        tempGroup.setDefaultEndTime(this.defaultEndTime);
-        tempGroup.setMinimumMembersRequired(this.minimumMembersRequired);
-        tempGroup.setEmergencyScheduling(this.emergencyScheduling);
+        List<TimeSlot> cached;
+        synchronized (groupSlotCache) {
+            cached = groupSlotCache.get(query);
+        }
+        if (cached == null) {
+            List<Member> groupMembers = getMembersByGroup(groupName);
+            if (groupMembers.isEmpty()) {
+                return Collections.emptyList();
+            }
 
-        for (Member member : groupMembers) {
-            tempGroup.addMember(member);
+            List<TimeSlot> common = findCommonTimeSlots(groupMembers, date, slotDurationMinutes);
+            for (TimeSlot slot : common) {
+                slot.makeReadOnly();
+            }
+            cached = Collections.unmodifiableList(common);
+            synchronized (groupSlotCache) {
+                groupSlotCache.put(query, cached);
+            }
         }
+        return cached;
+    }
 
-        return tempGroup.findCommonTimeSlots(date, slotDurationMinutes);
+    /**
+     * Marks cached results for a group as stale after one of its members changed.
+     *
+     * @param groupName The group whose members changed, or null
+     */
+    private void bumpGroupVersion(String groupName) {
+        if (groupName != null) {
+            groupVersions.merge(groupName, 1L, Long::sum);
+        }
     }
 
     /**
@@ -342,17 +1235,15 @@ public class StudyGroup {
     public Map<String, Integer> getGroupStatistics() {
         Map<String, Integer> stats = new HashMap<>();
 
-        for (Member member : members) {
-            if (member.hasGroup()) {
-                String group = member.getGroup();
-                stats.put(group, stats.getOrDefault(group, 0) + 1);
+        for (Map.Entry<String, Map<MemberRef, Member>> entry : membersByGroup.entrySet()) {
+            if (isGroupName(entry.getKey())) {
+                stats.put(entry.getKey(), entry.getValue().size());
             }
         }
 
         // Add ungrouped members count
-        int ungroupedCount = getUngroupedMembers().size();
-        if (ungroupedCount > 0) {
-            stats.put("Ungrouped", ungroupedCount);
+        if (!ungroupedMembers.isEmpty()) {
+            stats.put("Ungrouped", ungroupedMembers.size());
         }
 
         return stats;
@@ -366,11 +1257,12 @@ public class StudyGroup {
      * @return true if the member was successfully moved
      */
     public boolean moveMemberToGroup(Member member, String newGroup) {
-        if (!members.contains(member)) {
+        Member stored = findMember(member);
+        if (stored == null) {
             return false;
         }
 
-        member.setGroup(newGroup);
+        stored.setGroup(newGroup);
         return true;
     }
 
@@ -381,13 +1273,245 @@ public class StudyGroup {
      * @return The number of members that were removed from the group
      */
     public int disbandGroup(String groupName) {
-        int count = 0;
-        for (Member member : members) {
-            if (member.belongsToGroup(groupName)) {
-                member.setGroup(null);
-                count++;
+        if (groupName == null) {
+            return 0;
+        }
+        List<Member> groupMembers = getMembersByGroup(groupName);
+        for (Member member : groupMembers) {
+            member.setGroup(null);
+        }
+        return groupMembers.size();
+    }
+
+    /**
+     * Plans one meeting for every group during the week starting on the given date.
+     * A group can meet in any of its common time slots for the week, and no person is booked
+     * into two overlapping meetings. People are recognised across groups by email address,
+     * or by name when they have no email. Groups that share nobody are planned in parallel.
+     *
+     * @param weekStart The first day of the week to plan
+     * @param slotDurationMinutes The duration of each meeting in minutes
+     * @return The meeting slot for each group that could be scheduled, keyed by group name
+     */
+    public Map<String, TimeSlot> solveWeeklyPlan(LocalDate weekStart, int slotDurationMinutes) {
+        Map<String, List<Member>> groupMembers = new HashMap<>();
+        for (String group : getAllGroups()) {
+            groupMembers.put(group, getMembersByGroup(group));
+        }
+
+        Map<String, List<TimeSlot>> candidates = new ConcurrentHashMap<>();
+        groupMembers.entrySet().parallelStream().forEach(entry -> {
+            List<TimeSlot> slots = new ArrayList<>();
+            for (int day = 0; day < 7; day++) {
+                slots.addAll(findCommonTimeSlots(entry.getValue(), weekStart.plusDays(day), slotDurationMinutes));
+            }
+            candidates.put(entry.getKey(), slots);
+        });
+
+        Map<String, Set<String>> people = new HashMap<>();
+        for (Map.Entry<String, List<Member>> entry : groupMembers.entrySet()) {
+            Set<String> keys = new HashSet<>();
+            for (Member member : entry.getValue()) {
+                keys.add(getPersonKey(member));
+            }
+            people.put(entry.getKey(), keys);
+        }
+
+        return new WeeklyPlanSolver(candidates, people).solve();
+    }
+
+    private static String getPersonKey(Member member) {
+        String email = member.getEmail();
+        if (email != null && !email.trim().isEmpty()) {
+            return "email:" + email.trim().toLowerCase();
+        }
+        return "name:" + member.getName();
+    }
+
+    /**
+     * Adds a member to the group membership index under its current group.
+     */
+    private void indexMember(Member member) {
+        String group = member.getGroup();
+        if (group != null) {
+            membersByGroup.computeIfAbsent(group, key -> new LinkedHashMap<>()).put(new MemberRef(member), member);
+        }
+        if (!isGroupName(group)) {
+            ungroupedMembers.put(new MemberRef(member), member);
+        }
+    }
+
+    /**
+     * Removes a member from the group membership index.
+     *
+     * @param member The member to remove
+     * @param group The group the member is indexed under
+     */
+    private void unindexMember(Member member, String group) {
+        if (group != null) {
+            Map<MemberRef, Member> groupMembers = membersByGroup.get(group);
+            if (groupMembers != null) {
+                groupMembers.remove(new MemberRef(member));
+                if (groupMembers.isEmpty()) {
+                    membersByGroup.remove(group);
+                }
             }
         }
-        return count;
+        if (!isGroupName(group)) {
+            ungroupedMembers.remove(new MemberRef(member));
+        }
+    }
+
+    /**
+     * Checks if a group value names a group, matching {@link Member#hasGroup()}.
+     */
+    private static boolean isGroupName(String group) {
+        return group != null && !group.trim().isEmpty();
+    }
+
+    /**
+     * A candidate time slot together with the values it was ranked by.
+     */
+    public static class RankedSlot {
+        static final Comparator<RankedSlot> BEST_FIRST = Comparator
+                .comparingInt(RankedSlot::getAvailableMembers).reversed()
+                .thenComparingLong(RankedSlot::getMinutesFromDefaultStart)
+                .thenComparing(Comparator.comparingLong(RankedSlot::getContiguousMinutes).reversed())
+                .thenComparing(slot -> slot.getTimeSlot().getStartTime());
+
+        private final TimeSlot timeSlot;
+        private final int availableMembers;
+        private final long minutesFromDefaultStart;
+        private final long contiguousMinutes;
+
+        public RankedSlot(TimeSlot timeSlot, int availableMembers, long minutesFromDefaultStart, long contiguousMinutes) {
+            this.timeSlot = timeSlot;
+            this.availableMembers = availableMembers;
+            this.minutesFromDefaultStart = minutesFromDefaultStart;
+            this.contiguousMinutes = contiguousMinutes;
+        }
+
+        public TimeSlot getTimeSlot() {
+            return timeSlot;
+        }
+
+        public int getAvailableMembers() {
+            return availableMembers;
+        }
+
+        public long getMinutesFromDefaultStart() {
+            return minutesFromDefaultStart;
+        }
+
+        public long getContiguousMinutes() {
+            return contiguousMinutes;
+        }
+    }
+
+    /**
+     * Key that compares members by identity, for the group membership index. A member's own
+     * hash code cannot be used there, since it changes with the member's group.
+     */
+    private static final class MemberRef {
+        private final Member member;
+
+        MemberRef(Member member) {
+            this.member = member;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof MemberRef && ((MemberRef) obj).member == member;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(member);
+        }
+    }
+
+    /**
+     * Lookup key holding the fields {@link Member#equals(Object)} compares. Keys can be built from
+     * a member's previous values, so its entry can still be found after one of them changed.
+     */
+    private static final class MemberKey {
+        private final String name;
+        private final String email;
+        private final String group;
+
+        MemberKey(String name, String email, String group) {
+            this.name = name;
+            this.email = email;
+            this.group = group;
+        }
+
+        static MemberKey of(Member member) {
+            return new MemberKey(member.getName(), member.getEmail(), member.getGroup());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+
+            MemberKey key = (MemberKey) obj;
+            return Objects.equals(name, key.name) &&
+                   Objects.equals(email, key.email) &&
+                   Objects.equals(group, key.group);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, email, group);
+        }
+    }
+
+    /**
+     * Cache key for {@link #findCommonTimeSlotsForGroup(String, LocalDate, int)}: every input the
+     * result depends on, plus the version of the group's members at the time of the query.
+     */
+    private static final class GroupSlotQuery {
+        private final String groupName;
+        private final LocalDate date;
+        private final int slotDurationMinutes;
+        private final LocalTime startTime;
+        private final LocalTime endTime;
+        private final int minimumMembersRequired;
+        private final boolean emergencyScheduling;
+        private final long groupVersion;
+
+        GroupSlotQuery(String groupName, LocalDate date, int slotDurationMinutes, LocalTime startTime, LocalTime endTime,
+                       int minimumMembersRequired, boolean emergencyScheduling, long groupVersion) {
+            this.groupName = groupName;
+            this.date = date;
+            this.slotDurationMinutes = slotDurationMinutes;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.minimumMembersRequired = minimumMembersRequired;
+            this.emergencyScheduling = emergencyScheduling;
+            this.groupVersion = groupVersion;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+
+            GroupSlotQuery query = (GroupSlotQuery) obj;
+            return slotDurationMinutes == query.slotDurationMinutes &&
+                   minimumMembersRequired == query.minimumMembersRequired &&
+                   emergencyScheduling == query.emergencyScheduling &&
+                   groupVersion == query.groupVersion &&
+                   Objects.equals(groupName, query.groupName) &&
+                   Objects.equals(date, query.date) &&
+                   Objects.equals(startTime, query.startTime) &&
+                   Objects.equals(endTime, query.endTime);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(groupName, date, slotDurationMinutes, startTime, endTime,
+                    minimumMembersRequired, emergencyScheduling, groupVersion);
+        }
     }
 }
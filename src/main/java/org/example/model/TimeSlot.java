@@ -1,10 +1,10 @@
 package org.example.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
 /**
@@ -25,6 +25,9 @@ public class TimeSlot {
     @JsonProperty("description")
     private String description;
 
+    @JsonIgnore
+    private boolean readOnly; // Set on slots that are shared through read-only lists
+
     /**
      * Default constructor for JSON deserialization.
      */
@@ -79,6 +82,7 @@ public class TimeSlot {
      * @param startTime The new start time
      */
     public void setStartTime(LocalDateTime startTime) {
+        checkWritable();
         if (startTime == null) {
             throw new IllegalArgumentException("Start time cannot be null");
         }
@@ -103,6 +107,7 @@ public class TimeSlot {
      * @param endTime The new end time
      */
     public void setEndTime(LocalDateTime endTime) {
+        checkWritable();
         if (endTime == null) {
             throw new IllegalArgumentException("End time cannot be null");
         }
@@ -127,6 +132,7 @@ public class TimeSlot {
      * @param title The new title
      */
     public void setTitle(String title) {
+        checkWritable();
         this.title = title != null ? title : "";
     }
 
@@ -145,6 +151,7 @@ public class TimeSlot {
      * @param description The new description
      */
     public void setDescription(String description) {
+        checkWritable();
         this.description = description != null ? description : "";
     }
 
@@ -153,6 +160,7 @@ public class TimeSlot {
      *
      * @return The duration in minutes
      */
+    @JsonIgnore
     public long getDurationMinutes() {
         return java.time.Duration.between(startTime, endTime).toMinutes();
     }
@@ -234,19 +242,7 @@ public class TimeSlot {
      * @return A formatted string representation
      */
     public String formatTimeRange() {
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMM dd, yyyy");
-
-        if (startTime.toLocalDate().equals(endTime.toLocalDate())) {
-            // Same day
-            return startTime.format(dateFormatter) + " " +
-                   startTime.format(timeFormatter) + " - " +
-                   endTime.format(timeFormatter);
-        } else {
-            // Different days
-            return startTime.format(DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm")) + " - " +
-                   endTime.format(DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm"));
-        }
+        return TimeSlotFormatter.formatTimeRange(startTime, endTime);
     }
 
     @Override
@@ -286,11 +282,29 @@ public class TimeSlot {
         return new TimeSlot(startTime, endTime, title, description);
     }
 
+    /**
+     * Makes this time slot read-only, so that it can be shared between callers safely.
+     * Read-only slots throw on every setter; {@link #copy()} gives a writable copy.
+     *
+     * @return This time slot
+     */
+    TimeSlot makeReadOnly() {
+        readOnly = true;
+        return this;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("This time slot is shared and read-only; change a copy instead");
+        }
+    }
+
     /**
      * Checks if this time slot is valid (has proper start and end times).
      *
      * @return true if valid, false otherwise
      */
+    @JsonIgnore
     public boolean isValid() {
         return startTime != null && endTime != null && startTime.isBefore(endTime);
     }
@@ -0,0 +1,136 @@
+package org.example.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Formats dates, times and time ranges for display. The formatters are created once, and
+ * recently rendered range labels are cached by their start and end minute, since report
+ * dialogs format the same slots over and over.
+ */
+public final class TimeSlotFormatter {
+    private static final DateTimeFormatter CLOCK_TIME = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter SHORT_DATE = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+    private static final DateTimeFormatter SHORT_DATE_TIME = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
+    private static final DateTimeFormatter LONG_DATE = DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy");
+    private static final DateTimeFormatter TWELVE_HOUR_TIME = DateTimeFormatter.ofPattern("h:mm a");
+
+    private static final int LABEL_CACHE_SIZE = 256;
+    private static final long UNCACHED = Long.MIN_VALUE; // Never produced by toKey for a cacheable range
+
+    private static final LabelCache TIME_RANGE_LABELS = new LabelCache();
+    private static final LabelCache CLOCK_RANGE_LABELS = new LabelCache();
+
+    private TimeSlotFormatter() {
+    }
+
+    /**
+     * Formats a time range with its date, e.g. "Mar 02, 2026 18:00 - 21:00", or with both dates
+     * if the range crosses midnight.
+     *
+     * @param start The start of the range
+     * @param end The end of the range
+     * @return The formatted range
+     */
+    public static String formatTimeRange(LocalDateTime start, LocalDateTime end) {
+        long key = toKey(start, end);
+        String label = TIME_RANGE_LABELS.get(key);
+        if (label == null) {
+            if (start.toLocalDate().equals(end.toLocalDate())) {
+                label = start.format(SHORT_DATE) + " " + start.format(CLOCK_TIME) + " - " + end.format(CLOCK_TIME);
+            } else {
+                label = start.format(SHORT_DATE_TIME) + " - " + end.format(SHORT_DATE_TIME);
+            }
+            TIME_RANGE_LABELS.put(key, label);
+        }
+        return label;
+    }
+
+    /**
+     * Formats the clock times of a range, e.g. "18:00 - 21:00".
+     *
+     * @param start The start of the range
+     * @param end The end of the range
+     * @return The formatted range
+     */
+    public static String formatClockRange(LocalDateTime start, LocalDateTime end) {
+        long key = toKey(start, end);
+        String label = CLOCK_RANGE_LABELS.get(key);
+        if (label == null) {
+            label = start.format(CLOCK_TIME) + " - " + end.format(CLOCK_TIME);
+            CLOCK_RANGE_LABELS.put(key, label);
+        }
+        return label;
+    }
+
+    /**
+     * Formats a clock time on the 24-hour clock, e.g. "18:00".
+     *
+     * @param time The time to format
+     * @return The formatted time
+     */
+    public static String formatClockTime(TemporalAccessor time) {
+        return CLOCK_TIME.format(time);
+    }
+
+    /**
+     * Formats a time on the 12-hour clock, e.g. "6:00 PM".
+     *
+     * @param time The time to format
+     * @return The formatted time
+     */
+    public static String formatTwelveHourTime(TemporalAccessor time) {
+        return TWELVE_HOUR_TIME.format(time);
+    }
+
+    /**
+     * Formats a date in full, e.g. "Monday, March 2, 2026".
+     *
+     * @param date The date to format
+     * @return The formatted date
+     */
+    public static String formatLongDate(TemporalAccessor date) {
+        return LONG_DATE.format(date);
+    }
+
+    /**
+     * Packs the start and end minute of a range into one cache key. Labels show no seconds,
+     * so ranges within the same minutes share a label.
+     *
+     * @return The key, or {@link #UNCACHED} if a minute is outside the int range used for keys
+     */
+    private static long toKey(LocalDateTime start, LocalDateTime end) {
+        long startMinute = Math.floorDiv(start.toEpochSecond(ZoneOffset.UTC), 60);
+        long endMinute = Math.floorDiv(end.toEpochSecond(ZoneOffset.UTC), 60);
+        if (startMinute <= Integer.MIN_VALUE || startMinute > Integer.MAX_VALUE || endMinute != (int) endMinute) {
+            return UNCACHED;
+        }
+        return (startMinute << 32) | (endMinute & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Small least-recently-used cache of rendered labels.
+     */
+    private static final class LabelCache {
+        private final Map<Long, String> labels = new LinkedHashMap<Long, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                return size() > LABEL_CACHE_SIZE;
+            }
+        };
+
+        synchronized String get(long key) {
+            return key == UNCACHED ? null : labels.get(key);
+        }
+
+        synchronized void put(long key, String label) {
+            if (key != UNCACHED) {
+                labels.put(key, label);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns one meeting slot to each group so that no person attends two overlapping meetings.
+ * Groups that share people are solved together, most constrained group first, with a bounded
+ * backtracking search; groups that share nobody are solved independently and in parallel.
+ */
+final class WeeklyPlanSolver {
+    private static final int MAX_SEARCH_STEPS = 20_000;
+
+    private final List<String> groups;
+    private final List<List<TimeSlot>> candidates;
+    private final List<int[]> conflicts;
+
+    /**
+     * Creates a solver for the given groups.
+     *
+     * @param candidatesByGroup The slots each group could meet in, in order of preference
+     * @param peopleByGroup The people attending each group's meeting
+     */
+    WeeklyPlanSolver(Map<String, List<TimeSlot>> candidatesByGroup, Map<String, Set<String>> peopleByGroup) {
+        this.groups = new ArrayList<>(candidatesByGroup.keySet());
+        this.candidates = new ArrayList<>();
+        for (String group : groups) {
+            candidates.add(candidatesByGroup.get(group));
+        }
+
+        // Two groups conflict when some person attends both
+        Map<String, List<Integer>> groupsByPerson = new HashMap<>();
+        for (int i = 0; i < groups.size(); i++) {
+            for (String person : peopleByGroup.getOrDefault(groups.get(i), Set.of())) {
+                groupsByPerson.computeIfAbsent(person, key -> new ArrayList<>()).add(i);
+            }
+        }
+        List<Set<Integer>> neighbours = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            neighbours.add(new HashSet<>());
+        }
+        for (List<Integer> shared : groupsByPerson.values()) {
+            for (int a : shared) {
+                for (int b : shared) {
+                    if (a != b) {
+                        neighbours.get(a).add(b);
+                    }
+                }
+            }
+        }
+        this.conflicts = new ArrayList<>();
+        for (Set<Integer> set : neighbours) {
+            conflicts.add(set.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * Solves every independent set of groups in parallel and merges the results.
+     *
+     * @return The chosen slot for each group that could be scheduled, keyed by group name
+     */
+    Map<String, TimeSlot> solve() {
+        List<int[]> components = findComponents();
+        Map<String, TimeSlot> plan = new TreeMap<>();
+        for (Map<String, TimeSlot> partial : components.parallelStream()
+                .map(component -> new ComponentSearch(component).run())
+                .collect(Collectors.toList())) {
+            plan.putAll(partial);
+        }
+        return plan;
+    }
+
+    /**
+     * Splits the groups into connected components of the conflict graph.
+     */
+    private List<int[]> findComponents() {
+        List<int[]> components = new ArrayList<>();
+        boolean[] seen = new boolean[groups.size()];
+        for (int start = 0; start < groups.size(); start++) {
+            if (seen[start]) {
+                continue;
+            }
+            List<Integer> component = new ArrayList<>();
+            List<Integer> stack = new ArrayList<>();
+            stack.add(start);
+            seen[start] = true;
+            while (!stack.isEmpty()) {
+                int group = stack.remove(stack.size() - 1);
+                component.add(group);
+                for (int neighbour : conflicts.get(group)) {
+                    if (!seen[neighbour]) {
+                        seen[neighbour] = true;
+                        stack.add(neighbour);
+                    }
+                }
+            }
+            components.add(component.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return components;
+    }
+
+    /**
+     * Depth-first search over one component. Groups are visited most constrained first (fewest
+     * candidate slots, then most conflicts), each group tries its candidates in order and finally
+     * being left unscheduled, and the plan scheduling the most groups is kept. The search stops
+     * once every group is scheduled or the step budget runs out.
+     */
+    private final class ComponentSearch {
+        private final int[] order;
+        private final int[] chosen;
+        private int[] bestChosen;
+        private int bestScheduled = -1;
+        private int steps;
+
+        ComponentSearch(int[] component) {
+            this.order = Arrays.stream(component).boxed()
+                    .sorted(Comparator.<Integer>comparingInt(group -> candidates.get(group).size())
+                            .thenComparing(group -> -conflicts.get(group).length))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            this.chosen = new int[groups.size()];
+            Arrays.fill(chosen, -1);
+        }
+
+        Map<String, TimeSlot> run() {
+            search(0, 0);
+            Map<String, TimeSlot> plan = new HashMap<>();
+            for (int group : order) {
+                if (bestChosen[group] >= 0) {
+                    plan.put(groups.get(group), candidates.get(group).get(bestChosen[group]));
+                }
+            }
+            return plan;
+        }
+
+        /**
+         * @return true if the search should stop
+         */
+        private boolean search(int depth, int scheduled) {
+            if (depth == order.length) {
+                if (scheduled > bestScheduled) {
+                    bestScheduled = scheduled;
+                    bestChosen = chosen.clone();
+                }
+                return bestScheduled == order.length || steps >= MAX_SEARCH_STEPS;
+            }
+            if (scheduled + (order.length - depth) <= bestScheduled) {
+                return false; // Cannot beat the best plan found so far
+            }
+            steps++;
+
+            int group = order[depth];
+            List<TimeSlot> options = candidates.get(group);
+            for (int option = 0; option < options.size(); option++) {
+                if (steps >= MAX_SEARCH_STEPS && bestChosen != null) {
+                    return true;
+                }
+                if (isFree(group, options.get(option))) {
+                    chosen[group] = option;
+                    boolean stop = search(depth + 1, scheduled + 1);
+                    chosen[group] = -1;
+                    if (stop) {
+                        return true;
+                    }
+                }
+            }
+            return search(depth + 1, scheduled);
+        }
+
+        private boolean isFree(int group, TimeSlot slot) {
+            for (int neighbour : conflicts.get(group)) {
+                int option = chosen[neighbour];
+                if (option >= 0 && candidates.get(neighbour).get(option).overlaps(slot)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package org.example.util;
+
+import org.example.model.Member;
+import org.example.model.RecurringAvailability;
+import org.example.model.StudyGroup;
+import org.example.model.TimeSlot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reads and writes a study group as a compact binary snapshot, which loads far faster than
+ * the JSON files because nothing has to be parsed as text. The file is laid out as:
+ * <pre>
+ * int magic, int version
+ * int string count, then for each string: int length, UTF-8 bytes
+ * settings record
+ * int member count, then the member records
+ * int time slot count, then the time slot records
+ * </pre>
+ * Every record starts with its length in bytes. Strings are stored once in the string table
+ * and referred to by index, date-times are stored as epoch-minutes, dates as epoch-days and
+ * times of day as seconds after midnight. Strings are collected in a first pass over the study
+ * group, so that the records can be streamed to the file after the string table. The file is
+ * read one record at a time, so only the string table and the current record are held in memory.
+ * It is read through a stream rather than a memory-mapped buffer: loading takes as long either
+ * way, since building the members dominates, and a mapping stays open until it is garbage
+ * collected, which on Windows makes the next snapshot's replace of the file fail.
+ */
+final class BinarySnapshot {
+    private static final int MAGIC = 0x53534731; // "SSG1"
+    private static final int VERSION = 1;
+    private static final int NONE = -1; // Missing string or time of day
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int WITH_SECONDS = 1; // Time slot flag: a seconds byte follows each minute
+    private static final int LOAD_BATCH_SIZE = 512;
+
+    private BinarySnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of a study group to a file.
+     *
+     * @param file The file to write
+     * @param settings The study group's settings
+     * @param members The members of the study group
+     * @param timeSlots The time slots of the study group
+     * @throws IOException if the file cannot be written or a time is out of the supported range
+     */
+    static void write(File file, GroupSettings settings, List<Member> members, List<TimeSlot> timeSlots) throws IOException {
+        Map<String, Integer> strings = collectStrings(settings, members, timeSlots);
+
+        try (FileOutputStream fileOut = new FileOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(strings.size());
+            for (String string : strings.keySet()) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            RecordWriter records = new RecordWriter(out, strings);
+            records.writeSettings(settings);
+            records.writeCount(members.size());
+            for (Member member : members) {
+                records.writeMember(member);
+            }
+            records.writeCount(timeSlots.size());
+            for (TimeSlot timeSlot : timeSlots) {
+                records.writeTimeSlot(timeSlot);
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+    }
+
+    /**
+     * Gives every distinct string of the study group an index, in the order they are first seen.
+     *
+     * @return The index of each string, iterating in index order
+     */
+    private static Map<String, Integer> collectStrings(GroupSettings settings, List<Member> members,
+                                                       List<TimeSlot> timeSlots) {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        addString(strings, settings.getName());
+        for (Member member : members) {
+            addString(strings, member.getName());
+            addString(strings, member.getEmail());
+            addString(strings, member.getGroup());
+            for (TimeSlot timeSlot : member.getAvailableTimeSlots()) {
+                addString(strings, timeSlot.getTitle());
+                addString(strings, timeSlot.getDescription());
+            }
+        }
+        for (TimeSlot timeSlot : timeSlots) {
+            addString(strings, timeSlot.getTitle());
+            addString(strings, timeSlot.getDescription());
+        }
+        return strings;
+    }
+
+    private static void addString(Map<String, Integer> strings, String string) {
+        if (string != null) {
+            strings.putIfAbsent(string, strings.size());
+        }
+    }
+
+    /**
+     * Reads a study group from a snapshot file.
+     *
+     * @param file The file to read
+     * @return The study group
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    static StudyGroup read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (file.length() < 8 || in.readInt() != MAGIC) {
+                throw new IOException("Not a study group snapshot: " + file.getName());
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + file.getName());
+            }
+
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            RecordReader records = new RecordReader(in);
+            StudyGroup studyGroup = readSettings(records.next(), strings).toStudyGroup();
+
+            int memberCount = in.readInt();
+            List<Member> members = new ArrayList<>(Math.min(memberCount, LOAD_BATCH_SIZE));
+            for (int i = 0; i < memberCount; i++) {
+                members.add(readMember(records.next(), strings));
+                if (members.size() == LOAD_BATCH_SIZE) {
+                    studyGroup.addMembers(members);
+                    members.clear();
+                }
+            }
+            studyGroup.addMembers(members);
+
+            int timeSlotCount = in.readInt();
+            List<TimeSlot> timeSlots = new ArrayList<>(Math.min(timeSlotCount, LOAD_BATCH_SIZE));
+            for (int i = 0; i < timeSlotCount; i++) {
+                timeSlots.add(readTimeSlot(records.next(), strings));
+                if (timeSlots.size() == LOAD_BATCH_SIZE) {
+                    studyGroup.addTimeSlots(timeSlots);
+                    timeSlots.clear();
+                }
+            }
+            studyGroup.addTimeSlots(timeSlots);
+            return studyGroup;
+        } catch (EOFException | BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+                 | IllegalArgumentException | DateTimeException e) {
+            throw new IOException("Corrupt study group snapshot " + file.getName() + ": " + e, e);
+        }
+    }
+
+    /**
+     * Reads length-prefixed records from a stream into a reused buffer.
+     */
+    private static class RecordReader {
+        private final DataInputStream in;
+        private byte[] bytes = new byte[256];
+
+        RecordReader(DataInputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Reads the next record. The returned buffer is only valid until the next call.
+         */
+        ByteBuffer next() throws IOException {
+            int length = in.readInt();
+            if (length > bytes.length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            in.readFully(bytes, 0, length);
+            return ByteBuffer.wrap(bytes, 0, length);
+        }
+    }
+
+    private static GroupSettings readSettings(ByteBuffer record, String[] strings) {
+        return new GroupSettings(readString(record, strings), readTimeOfDay(record), readTimeOfDay(record),
+                                 record.getInt(), record.get() != 0);
+    }
+
+    private static Member readMember(ByteBuffer record, String[] strings) {
+        Member member = new Member(readString(record, strings), readString(record, strings), readString(record, strings));
+        boolean canonicalizing = record.get() != 0;
+
+        int slotCount = record.getInt();
+        List<TimeSlot> availableTimeSlots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            availableTimeSlots.add(readTimeSlot(record, strings));
+        }
+        member.setAvailableTimeSlots(availableTimeSlots);
+        member.setCanonicalizing(canonicalizing);
+
+        int ruleCount = record.getInt();
+        List<RecurringAvailability> rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            rules.add(readRule(record));
+        }
+        member.setRecurringAvailability(rules);
+        return member;
+    }
+
+    private static RecurringAvailability readRule(ByteBuffer record) {
+        RecurringAvailability rule = new RecurringAvailability();
+        int days = record.get();
+        Set<DayOfWeek> daysOfWeek = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((days & (1 << day.ordinal())) != 0) {
+                daysOfWeek.add(day);
+            }
+        }
+        rule.setDaysOfWeek(daysOfWeek);
+
+        LocalTime startTime = readTimeOfDay(record);
+        LocalTime endTime = readTimeOfDay(record);
+        if (startTime != null) {
+            rule.setStartTime(startTime);
+        }
+        if (endTime != null) {
+            rule.setEndTime(endTime);
+        }
+        rule.setStartDate(readDate(record));
+        rule.setEndDate(readDate(record));
+
+        int exceptionCount = record.getInt();
+        Set<LocalDate> exceptions = new TreeSet<>();
+        for (int i = 0; i < exceptionCount; i++) {
+            exceptions.add(readDate(record));
+        }
+        rule.setExceptions(exceptions);
+        return rule;
+    }
+
+    private static TimeSlot readTimeSlot(ByteBuffer record, String[] strings) {
+        int flags = record.get();
+        long start = record.getInt() * 60L;
+        long end = record.getInt() * 60L;
+        if ((flags & WITH_SECONDS) != 0) {
+            start += record.get();
+            end += record.get();
+        }
+        return new TimeSlot(LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC),
+                            LocalDateTime.ofEpochSecond(end, 0, ZoneOffset.UTC),
+                            readString(record, strings), readString(record, strings));
+    }
+
+    private static String readString(ByteBuffer record, String[] strings) {
+        int index = record.getInt();
+        return index == NONE ? null : strings[index];
+    }
+
+    private static LocalTime readTimeOfDay(ByteBuffer record) {
+        int secondOfDay = record.getInt();
+        return secondOfDay == NONE ? null : LocalTime.ofSecondOfDay(secondOfDay);
+    }
+
+    private static LocalDate readDate(ByteBuffer record) {
+        int epochDay = record.getInt();
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Encodes records into the snapshot body, referring to strings by their index in the string table.
+     */
+    private static class RecordWriter {
+        private final DataOutputStream body;
+        private final Map<String, Integer> strings;
+        private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        private final DataOutputStream record = new DataOutputStream(recordBytes);
+
+        RecordWriter(DataOutputStream body, Map<String, Integer> strings) {
+            this.body = body;
+            this.strings = strings;
+        }
+
+        void writeCount(int count) throws IOException {
+            body.writeInt(count);
+        }
+
+        void writeSettings(GroupSettings settings) throws IOException {
+            writeString(settings.getName());
+            writeTimeOfDay(settings.getDefaultStartTime());
+            writeTimeOfDay(settings.getDefaultEndTime());
+            record.writeInt(settings.getMinimumMembersRequired());
+            record.writeBoolean(settings.isEmergencyScheduling());
+            endRecord();
+        }
+
+        void writeMember(Member member) throws IOException {
+            writeString(member.getName());
+            writeString(member.getEmail());
+            writeString(member.getGroup());
+            record.writeBoolean(member.isCanonicalizing());
+
+            List<TimeSlot> availableTimeSlots = member.getAvailableTimeSlots();
+            record.writeInt(availableTimeSlots.size());
+            for (TimeSlot timeSlot : availableTimeSlots) {
+                writeTimeSlotFields(timeSlot);
+            }
+
+            List<RecurringAvailability> rules = member.getRecurringAvailability();
+            record.writeInt(rules.size());
+            for (RecurringAvailability rule : rules) {
+                writeRule(rule);
+            }
+            endRecord();
+        }
+
+        void writeTimeSlot(TimeSlot timeSlot) throws IOException {
+            writeTimeSlotFields(timeSlot);
+            endRecord();
+        }
+
+        private void writeRule(RecurringAvailability rule) throws IOException {
+            int days = 0;
+            for (DayOfWeek day : rule.getDaysOfWeek()) {
+                days |= 1 << day.ordinal();
+            }
+            record.writeByte(days);
+            writeTimeOfDay(rule.getStartTime());
+            writeTimeOfDay(rule.getEndTime());
+            writeDate(rule.getStartDate());
+            writeDate(rule.getEndDate());
+
+            Set<LocalDate> exceptions = rule.getExceptions();
+            record.writeInt(exceptions.size());
+            for (LocalDate exception : exceptions) {
+                writeDate(exception);
+            }
+        }
+
+        private void writeTimeSlotFields(TimeSlot timeSlot) throws IOException {
+            LocalDateTime start = timeSlot.getStartTime();
+            LocalDateTime end = timeSlot.getEndTime();
+            boolean withSeconds = start.getSecond() != 0 || end.getSecond() != 0;
+            record.writeByte(withSeconds ? WITH_SECONDS : 0);
+            record.writeInt(toEpochMinute(start));
+            record.writeInt(toEpochMinute(end));
+            if (withSeconds) {
+                record.writeByte(start.getSecond());
+                record.writeByte(end.getSecond());
+            }
+            writeString(timeSlot.getTitle());
+            writeString(timeSlot.getDescription());
+        }
+
+        private void writeString(String string) throws IOException {
+            if (string == null) {
+                record.writeInt(NONE);
+                return;
+            }
+            Integer index = strings.get(string);
+            if (index == null) {
+                throw new IOException("String missing from the string table: " + string);
+            }
+            record.writeInt(index);
+        }
+
+        private void writeTimeOfDay(LocalTime time) throws IOException {
+            record.writeInt(time != null ? time.toSecondOfDay() : NONE);
+        }
+
+        private void writeDate(LocalDate date) throws IOException {
+            if (date == null) {
+                record.writeInt(NO_DATE);
+                return;
+            }
+            long epochDay = date.toEpochDay();
+            if (epochDay <= NO_DATE || epochDay > Integer.MAX_VALUE) {
+                throw new IOException("Date is out of the range of a binary snapshot: " + date);
+            }
+            record.writeInt((int) epochDay);
+        }
+
+        /**
+         * Writes the record built so far to the body, prefixed by its length.
+         */
+        private void endRecord() throws IOException {
+            record.flush();
+            body.writeInt(recordBytes.size());
+            recordBytes.writeTo(body);
+            recordBytes.reset();
+        }
+
+        private static int toEpochMinute(LocalDateTime time) throws IOException {
+            long minute = Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+            if (minute < Integer.MIN_VALUE || minute > Integer.MAX_VALUE) {
+                throw new IOException("Time is out of the range of a binary snapshot: " + time);
+            }
+            return (int) minute;
+        }
+    }
+}
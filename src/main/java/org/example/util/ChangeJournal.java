@@ -0,0 +1,206 @@
+package org.example.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Append-only log of change records, one record per line, split into numbered segment files
+ * (journal-1.jsonl, journal-2.jsonl, ...). Records are appended to the newest segment.
+ * An append returns once its record is on disk, but appends that arrive while another thread
+ * is syncing share the next sync instead of forcing the file one by one (group commit).
+ * Sealing starts a new segment so that older segments can be deleted once a snapshot covers them.
+ */
+final class ChangeJournal implements Closeable {
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d+)\\.jsonl");
+
+    private final File directory;
+    private final Object writeLock = new Object(); // Guards channel, segment and written
+    private final Object syncLock = new Object(); // Guards synced; taken before writeLock
+    private FileChannel channel;
+    private int segment;
+    private long written; // Records written so far
+    private long synced; // Records known to be on disk
+
+    /**
+     * Opens the journal in the given directory, continuing the newest existing segment.
+     *
+     * @param directory The directory holding the segment files
+     * @throws IOException if the newest segment cannot be opened
+     */
+    ChangeJournal(File directory) throws IOException {
+        this.directory = directory;
+        List<File> segments = getSegments();
+        this.segment = segments.isEmpty() ? 1 : segmentNumber(segments.get(segments.size() - 1));
+        openSegment();
+    }
+
+    /**
+     * Gets the existing segment files, oldest first.
+     *
+     * @return The segment files
+     */
+    List<File> getSegments() {
+        List<File> segments = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isFile() && SEGMENT_NAME.matcher(file.getName()).matches()) {
+                    segments.add(file);
+                }
+            }
+        }
+        segments.sort((a, b) -> Integer.compare(segmentNumber(a), segmentNumber(b)));
+        return segments;
+    }
+
+    /**
+     * Appends a record and waits until it is on disk.
+     *
+     * @param record The record, without a line terminator
+     * @throws IOException if the record cannot be written or synced
+     */
+    void append(byte[] record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(record.length + 1);
+        buffer.put(record).put((byte) '\n').flip();
+
+        long sequence;
+        synchronized (writeLock) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            sequence = ++written;
+        }
+
+        synchronized (syncLock) {
+            if (synced >= sequence) {
+                return; // Another thread's sync already covered this record
+            }
+            long covered;
+            FileChannel target;
+            synchronized (writeLock) {
+                covered = written;
+                target = channel;
+            }
+            // Writers may keep appending while the file is forced; they join the next sync
+            target.force(false);
+            synced = covered;
+        }
+    }
+
+    /**
+     * Gets the size of the segment currently being appended to.
+     *
+     * @return The size in bytes
+     * @throws IOException if the size cannot be read
+     */
+    long getActiveSize() throws IOException {
+        synchronized (writeLock) {
+            return channel.size();
+        }
+    }
+
+    /**
+     * Closes the current segment and starts a new one. Everything appended before this call
+     * is in the returned segment or an older one. If nothing was appended to the current
+     * segment, it is kept and the number of the segment before it is returned.
+     *
+     * @return The number of the segment that was sealed
+     * @throws IOException if the new segment cannot be opened
+     */
+    int seal() throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                if (channel.size() == 0) {
+                    return segment - 1; // Frequent saves would otherwise leave a trail of empty segments
+                }
+                channel.force(false);
+                channel.close();
+                synced = written;
+                int sealed = segment++;
+                openSegment();
+                return sealed;
+            }
+        }
+    }
+
+    /**
+     * Deletes every segment up to and including the given one.
+     *
+     * @param lastSegment The number of the newest segment to delete
+     */
+    void deleteThrough(int lastSegment) {
+        for (File file : getSegments()) {
+            if (segmentNumber(file) <= lastSegment && !file.delete()) {
+                System.err.println("❌ Could not delete journal segment " + file.getName());
+            }
+        }
+    }
+
+    /**
+     * Deletes every segment and continues in a new, empty one. Segment numbers keep increasing,
+     * so snapshots taken before the reset can still be told apart from later ones.
+     *
+     * @return The number of the newest segment that was deleted
+     * @throws IOException if the new segment cannot be opened
+     */
+    int reset() throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                channel.close();
+                synced = written;
+                int deleted = segment++;
+                deleteThrough(deleted);
+                openSegment();
+                return deleted;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                if (channel.isOpen()) {
+                    channel.force(false);
+                    channel.close();
+                }
+                synced = written;
+            }
+        }
+    }
+
+    private void openSegment() throws IOException {
+        File file = new File(directory, "journal-" + segment + ".jsonl");
+        boolean unterminated = endsMidRecord(file);
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        // A crash can leave half a record at the end; terminate it so the next record starts on its own line
+        if (unterminated) {
+            channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+        }
+    }
+
+    private static boolean endsMidRecord(File file) throws IOException {
+        if (file.length() == 0) {
+            return false;
+        }
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            in.seek(in.length() - 1);
+            return in.read() != '\n';
+        }
+    }
+
+    private static int segmentNumber(File file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getName());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+}
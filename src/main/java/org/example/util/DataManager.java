@@ -1,39 +1,133 @@
 package org.example.util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.example.model.Member;
 import org.example.model.StudyGroup;
 import org.example.model.TimeSlot;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Manages persistent storage of study group data including members and schedules.
+ * In journaled mode, single edits are appended to a change journal and folded into the
+ * snapshot files in the background, instead of rewriting every file on each edit.
  */
 public class DataManager {
     private static final String DATA_DIRECTORY = "data";
     private static final String MEMBERS_FILE = "members.json";
     private static final String SCHEDULES_FILE = "schedules.json";
     private static final String STUDY_GROUP_FILE = "study_group.json";
+    private static final String BINARY_SNAPSHOT_FILE = "study_group.bin";
+
+    // Journal record operations
+    private static final String ADD_MEMBER = "addMember";
+    private static final String REMOVE_MEMBER = "removeMember";
+    private static final String ADD_TIME_SLOT = "addTimeSlot";
+    private static final long COMPACTION_THRESHOLD_BYTES = 4L * 1024 * 1024;
+    private static final int LOAD_BATCH_SIZE = 512;
 
     private final ObjectMapper objectMapper;
     private final File dataDir;
+    private final boolean binarySnapshots;
+    private final ChangeJournal journal; // null unless journaled
+    private final ExecutorService compactor;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final Object snapshotLock = new Object();
+    private final AtomicLong snapshotsTaken = new AtomicLong(); // Numbers snapshots in the order they were taken
+    private long writtenSnapshot; // Number of the snapshot in the snapshot files, guarded by snapshotLock
 
     public DataManager() {
+        this(false);
+    }
+
+    /**
+     * Creates a data manager, optionally in journaled mode. If the journal cannot be opened,
+     * the data manager falls back to rewriting the snapshot files on every edit.
+     *
+     * @param journaled true to append single edits to a change journal
+     */
+    public DataManager(boolean journaled) {
+        this(journaled, false);
+    }
+
+    /**
+     * Creates a data manager, optionally in journaled mode and optionally storing snapshots in
+     * the binary format, which loads much faster than JSON. JSON files can still be imported
+     * and exported in either case.
+     *
+     * @param journaled true to append single edits to a change journal
+     * @param binarySnapshots true to write snapshots in the binary format instead of JSON
+     */
+    public DataManager(boolean journaled, boolean binarySnapshots) {
+        this(new File(DATA_DIRECTORY), journaled, binarySnapshots);
+    }
+
+    /**
+     * Creates a data manager that keeps its files in the given directory.
+     *
+     * @param dataDir The directory holding the snapshot and journal files
+     * @param journaled true to append single edits to a change journal
+     * @param binarySnapshots true to write snapshots in the binary format instead of JSON
+     */
+    DataManager(File dataDir, boolean journaled, boolean binarySnapshots) {
+        this.binarySnapshots = binarySnapshots;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
         this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.objectMapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
 
         // Create data directory if it doesn't exist
-        this.dataDir = new File(DATA_DIRECTORY);
+        this.dataDir = dataDir;
         if (!dataDir.exists()) {
             dataDir.mkdirs();
         }
+
+        ChangeJournal openedJournal = null;
+        if (journaled) {
+            try {
+                openedJournal = new ChangeJournal(dataDir);
+            } catch (IOException e) {
+                System.err.println("❌ Error opening change journal, saving full snapshots instead: " + e.getMessage());
+            }
+        }
+        this.journal = openedJournal;
+        this.compactor = openedJournal != null ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Checks if single edits are appended to a change journal.
+     *
+     * @return true if the data manager is in journaled mode
+     */
+    public boolean isJournaled() {
+        return journal != null;
     }
 
     /**
@@ -41,16 +135,46 @@ public class DataManager {
      */
     public void saveStudyGroup(StudyGroup studyGroup) {
         try {
-            // Save study group metadata
-            File studyGroupFile = new File(dataDir, STUDY_GROUP_FILE);
-            objectMapper.writeValue(studyGroupFile, studyGroup);
+            // Written on this thread, so the study group can be read directly instead of copied
+            int coveredSegment = sealJournal();
+            writeSnapshot(new Snapshot(new GroupSettings(studyGroup), studyGroup.getMembers(),
+                    studyGroup.getTimeSlots(), coveredSegment, snapshotsTaken.incrementAndGet()));
 
-            // Save members separately for easier management
-            saveMembersList(studyGroup.getMembers());
+            System.out.println("✅ Study group data saved successfully");
+        } catch (IOException e) {
+            System.err.println("❌ Error saving study group data: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
 
-            // Save time slots separately
-            saveSchedulesList(studyGroup.getTimeSlots());
+    /**
+     * Copies the study group so that it can be saved on another thread with
+     * {@link #saveSnapshot(Snapshot)} while the study group keeps changing.
+     * Must be called on the thread that edits the study group.
+     *
+     * @param studyGroup The study group to copy
+     * @return The copy, covering every journal record appended so far
+     * @throws IOException if the journal cannot be sealed
+     */
+    Snapshot takeSnapshot(StudyGroup studyGroup) throws IOException {
+        int coveredSegment = sealJournal();
+        List<Member> members = new ArrayList<>(studyGroup.getMembers().size());
+        for (Member member : studyGroup.getMembers()) {
+            members.add(member.copy());
+        }
+        // The time slot snapshot holds its own copy of the slots already
+        return new Snapshot(new GroupSettings(studyGroup), members, studyGroup.getTimeSlots(), coveredSegment,
+                snapshotsTaken.incrementAndGet());
+    }
 
+    /**
+     * Saves a study group copied with {@link #takeSnapshot(StudyGroup)}.
+     *
+     * @param snapshot The copy to save
+     */
+    void saveSnapshot(Snapshot snapshot) {
+        try {
+            writeSnapshot(snapshot);
             System.out.println("✅ Study group data saved successfully");
         } catch (IOException e) {
             System.err.println("❌ Error saving study group data: " + e.getMessage());
@@ -58,35 +182,118 @@ public class DataManager {
         }
     }
 
+    /**
+     * Starts a new journal segment, since a full snapshot makes every journal record so far redundant.
+     *
+     * @return The newest segment the snapshot will cover
+     */
+    private int sealJournal() throws IOException {
+        return journal != null ? journal.seal() : 0;
+    }
+
+    /**
+     * Writes the snapshot, in the binary format or as JSON files, and then drops the journal
+     * segments it covers. A snapshot taken no later than the one already on disk is skipped;
+     * snapshots are compared by when they were taken, since two snapshots taken while the
+     * journal was idle cover the same segment but not the same edits.
+     */
+    private void writeSnapshot(Snapshot snapshot) throws IOException {
+        synchronized (snapshotLock) {
+            if (snapshot.sequence <= writtenSnapshot) {
+                return;
+            }
+
+            File binaryFile = new File(dataDir, BINARY_SNAPSHOT_FILE);
+            if (binarySnapshots) {
+                File temporaryFile = new File(dataDir, BINARY_SNAPSHOT_FILE + ".tmp");
+                BinarySnapshot.write(temporaryFile, snapshot.settings, snapshot.members, snapshot.timeSlots);
+                moveIntoPlace(temporaryFile, binaryFile);
+            } else {
+                writeJson(dataDir, snapshot.settings, snapshot.members, snapshot.timeSlots);
+                // The binary snapshot is loaded in preference to JSON, so it must not outlive a newer JSON snapshot
+                Files.deleteIfExists(binaryFile.toPath());
+            }
+
+            writtenSnapshot = snapshot.sequence;
+            if (journal != null) {
+                journal.deleteThrough(snapshot.coveredSegment);
+            }
+        }
+    }
+
+    /**
+     * Writes the JSON files of a snapshot. Each entity is written once: the study group file
+     * holds only the group's own settings, while members and time slots go to their own files.
+     */
+    private void writeJson(File directory, GroupSettings settings, List<Member> members,
+                           List<TimeSlot> timeSlots) throws IOException {
+        // Save study group settings
+        writeAtomically(new File(directory, STUDY_GROUP_FILE), settings);
+
+        // Save members
+        writeAtomically(new File(directory, MEMBERS_FILE), members);
+
+        // Save time slots
+        writeAtomically(new File(directory, SCHEDULES_FILE), timeSlots);
+    }
+
+    /**
+     * Writes a value to a temporary file and moves it over the target once it is on disk,
+     * so a crash never leaves a half-written snapshot file behind.
+     */
+    private void writeAtomically(File file, Object value) throws IOException {
+        File temporaryFile = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temporaryFile)) {
+            objectMapper.writeValue(out, value);
+            out.getFD().sync();
+        }
+        moveIntoPlace(temporaryFile, file);
+    }
+
+    private static void moveIntoPlace(File temporaryFile, File file) throws IOException {
+        Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
     /**
      * Loads the study group data from persistent storage.
      */
     public StudyGroup loadStudyGroup() {
+        return loadStudyGroup(null);
+    }
+
+    /**
+     * Loads the study group data from persistent storage, reporting progress as the files are read.
+     * The binary snapshot is used if there is one, otherwise the JSON files; the change journal
+     * is applied on top.
+     *
+     * @param progressListener Receives progress updates, or null
+     */
+    public StudyGroup loadStudyGroup(LoadProgressListener progressListener) {
         try {
-            File studyGroupFile = new File(dataDir, STUDY_GROUP_FILE);
+            File binaryFile = new File(dataDir, BINARY_SNAPSHOT_FILE);
+            List<File> segments = journal != null ? journal.getSegments() : new ArrayList<>();
+            long journalBytes = 0;
+            for (File segment : segments) {
+                journalBytes += segment.length();
+            }
 
             StudyGroup studyGroup;
-            if (studyGroupFile.exists()) {
-                studyGroup = objectMapper.readValue(studyGroupFile, StudyGroup.class);
-                System.out.println("✅ Study group loaded from file");
+            LoadProgress progress;
+            if (binaryFile.exists()) {
+                progress = new LoadProgress(progressListener, binaryFile.length() + journalBytes);
+                studyGroup = BinarySnapshot.read(binaryFile);
+                progress.fileRead(binaryFile.length());
+                System.out.println("✅ Study group loaded from binary snapshot with " + studyGroup.getMembers().size() + " members");
             } else {
-                studyGroup = new StudyGroup("My Study Group");
-                System.out.println("📝 Created new study group");
-            }
-
-            // Load members
-            List<Member> members = loadMembersList();
-            for (Member member : members) {
-                studyGroup.addMember(member);
+                progress = new LoadProgress(progressListener, getJsonSize(dataDir) + journalBytes);
+                studyGroup = readJson(dataDir, progress);
             }
 
-            // Load time slots
-            List<TimeSlot> timeSlots = loadSchedulesList();
-            for (TimeSlot timeSlot : timeSlots) {
-                studyGroup.addTimeSlot(timeSlot);
+            // Apply the edits made since the snapshot was written
+            int changes = replayJournal(segments, studyGroup, progress);
+            if (changes > 0) {
+                System.out.println("✅ Replayed " + changes + " journaled changes");
             }
-
-            System.out.println("✅ Loaded " + members.size() + " members and " + timeSlots.size() + " schedules");
             return studyGroup;
 
         } catch (IOException e) {
@@ -97,59 +304,207 @@ public class DataManager {
     }
 
     /**
-     * Saves the list of members to a JSON file.
+     * Exports a study group as JSON files (study_group.json, members.json and schedules.json).
+     *
+     * @param studyGroup The study group to export
+     * @param directory The directory to write the files to
+     * @throws IOException if the files cannot be written
      */
-    private void saveMembersList(List<Member> members) {
-        try {
-            File membersFile = new File(dataDir, MEMBERS_FILE);
-            objectMapper.writeValue(membersFile, members);
-        } catch (IOException e) {
-            System.err.println("❌ Error saving members: " + e.getMessage());
+    public void exportToJson(StudyGroup studyGroup, File directory) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory " + directory);
+        }
+        writeJson(directory, new GroupSettings(studyGroup), studyGroup.getMembers(), studyGroup.getTimeSlots());
+        System.out.println("✅ Study group exported to " + directory);
+    }
+
+    /**
+     * Imports a study group from JSON files written by {@link #exportToJson} or by earlier versions.
+     * The imported group is not saved until {@link #saveStudyGroup} is called.
+     *
+     * @param directory The directory holding the files
+     * @return The imported study group
+     * @throws IOException if the study group file cannot be read
+     */
+    public StudyGroup importFromJson(File directory) throws IOException {
+        return readJson(directory, new LoadProgress(null, getJsonSize(directory)));
+    }
+
+    private static long getJsonSize(File directory) {
+        return new File(directory, STUDY_GROUP_FILE).length() + new File(directory, MEMBERS_FILE).length()
+                + new File(directory, SCHEDULES_FILE).length();
+    }
+
+    /**
+     * Reads a study group from JSON files. Members and time slots are handed to the study group
+     * in small batches while they are parsed, so the files are never held in memory as complete lists.
+     */
+    private StudyGroup readJson(File directory, LoadProgress progress) throws IOException {
+        File studyGroupFile = new File(directory, STUDY_GROUP_FILE);
+        File membersFile = new File(directory, MEMBERS_FILE);
+        File schedulesFile = new File(directory, SCHEDULES_FILE);
+
+        StudyGroup studyGroup;
+        if (studyGroupFile.exists()) {
+            // Members and time slots embedded by older versions are skipped; their own files are authoritative
+            studyGroup = objectMapper.readValue(studyGroupFile, GroupSettings.class).toStudyGroup();
+            System.out.println("✅ Study group loaded from file");
+        } else {
+            studyGroup = new StudyGroup("My Study Group");
+            System.out.println("📝 Created new study group");
+        }
+        progress.fileRead(studyGroupFile.length());
+
+        // Load members
+        int members = streamList(membersFile, Member.class, studyGroup::addMembers, progress, "members");
+
+        // Load time slots
+        int timeSlots = streamList(schedulesFile, TimeSlot.class, studyGroup::addTimeSlots, progress, "schedules");
+
+        System.out.println("✅ Loaded " + members + " members and " + timeSlots + " schedules");
+        return studyGroup;
+    }
+
+    /**
+     * Applies the journal records to the study group, oldest first. Records already reflected
+     * in the snapshot are harmless to apply again, and a torn record left by a crash is skipped.
+     *
+     * @return The number of records applied
+     */
+    private int replayJournal(List<File> segments, StudyGroup studyGroup, LoadProgress progress) throws IOException {
+        int changes = 0;
+        for (File segment : segments) {
+            long bytesRead = 0;
+            try (BufferedReader reader = Files.newBufferedReader(segment.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    bytesRead += line.length() + 1; // Records are mostly ASCII, so characters approximate bytes
+                    progress.update(bytesRead);
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        applyChange(objectMapper.readTree(line), studyGroup);
+                        changes++;
+                    } catch (JsonProcessingException | IllegalArgumentException e) {
+                        System.err.println("❌ Skipping unreadable journal record in " + segment.getName() + ": " + e.getMessage());
+                    }
+                }
+            }
+            progress.fileRead(segment.length());
+        }
+        return changes;
+    }
+
+    private void applyChange(JsonNode record, StudyGroup studyGroup) throws JsonProcessingException {
+        String op = record.path("op").asText();
+        switch (op) {
+            case ADD_MEMBER:
+                studyGroup.addMember(objectMapper.treeToValue(record.get("member"), Member.class));
+                break;
+            case REMOVE_MEMBER:
+                studyGroup.removeMember(objectMapper.treeToValue(record.get("member"), Member.class));
+                break;
+            case ADD_TIME_SLOT:
+                studyGroup.addTimeSlot(objectMapper.treeToValue(record.get("timeSlot"), TimeSlot.class));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown journal operation: " + op);
         }
     }
 
     /**
-     * Loads the list of members from a JSON file.
+     * Records a single edit. In journaled mode the edit is appended to the journal, and the
+     * journal is compacted in the background once it is large enough; otherwise, or if the
+     * append fails, the whole study group is saved.
      */
-    private List<Member> loadMembersList() {
+    private void recordChange(String op, String field, Object value, StudyGroup studyGroup) {
+        if (journal == null) {
+            saveStudyGroup(studyGroup);
+            return;
+        }
         try {
-            File membersFile = new File(dataDir, MEMBERS_FILE);
-            if (membersFile.exists()) {
-                return objectMapper.readValue(membersFile,
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, Member.class));
+            ObjectNode record = objectMapper.createObjectNode();
+            record.put("op", op);
+            record.set(field, objectMapper.valueToTree(value));
+            journal.append(objectMapper.writeValueAsBytes(record));
+
+            if (journal.getActiveSize() >= COMPACTION_THRESHOLD_BYTES && compacting.compareAndSet(false, true)) {
+                compactInBackground(studyGroup);
             }
         } catch (IOException e) {
-            System.err.println("❌ Error loading members: " + e.getMessage());
+            System.err.println("❌ Error writing change journal, saving full snapshot: " + e.getMessage());
+            saveStudyGroup(studyGroup);
         }
-        return new ArrayList<>();
     }
 
     /**
-     * Saves the list of time slots (schedules) to a JSON file.
+     * Starts a new journal segment and copies the study group on the caller's thread, then
+     * writes the copy as a snapshot covering the older segments on the compactor thread.
+     * Edits keep going to the new segment meanwhile.
      */
-    private void saveSchedulesList(List<TimeSlot> timeSlots) {
+    private void compactInBackground(StudyGroup studyGroup) throws IOException {
+        Snapshot snapshot;
         try {
-            File schedulesFile = new File(dataDir, SCHEDULES_FILE);
-            objectMapper.writeValue(schedulesFile, timeSlots);
+            snapshot = takeSnapshot(studyGroup);
         } catch (IOException e) {
-            System.err.println("❌ Error saving schedules: " + e.getMessage());
+            compacting.set(false);
+            throw e;
         }
+
+        compactor.execute(() -> {
+            try {
+                writeSnapshot(snapshot);
+                System.out.println("✅ Change journal compacted");
+            } catch (IOException e) {
+                System.err.println("❌ Error compacting change journal: " + e.getMessage());
+            } finally {
+                compacting.set(false);
+            }
+        });
     }
 
     /**
-     * Loads the list of time slots (schedules) from a JSON file.
+     * Reads a JSON array one element at a time and passes the elements on in batches.
+     * If the file cannot be read to the end, the elements read so far are kept.
+     *
+     * @param file The file holding the array
+     * @param type The element type
+     * @param sink Receives each batch; the batch list is reused afterwards
+     * @param progress Tracks how far the file has been read
+     * @param description What the elements are, for error messages
+     * @return The number of elements read
      */
-    private List<TimeSlot> loadSchedulesList() {
-        try {
-            File schedulesFile = new File(dataDir, SCHEDULES_FILE);
-            if (schedulesFile.exists()) {
-                return objectMapper.readValue(schedulesFile,
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, TimeSlot.class));
+    private <T> int streamList(File file, Class<T> type, Consumer<List<T>> sink, LoadProgress progress,
+                               String description) {
+        int count = 0;
+        if (!file.exists()) {
+            return count;
+        }
+        List<T> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        try (MappingIterator<T> elements = objectMapper.readerFor(type).readValues(file)) {
+            while (elements.hasNextValue()) {
+                batch.add(elements.nextValue());
+                if (batch.size() == LOAD_BATCH_SIZE) {
+                    count += passBatch(batch, sink);
+                    progress.update(elements.getParser().currentLocation().getByteOffset());
+                }
             }
-        } catch (IOException e) {
-            System.err.println("❌ Error loading schedules: " + e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Error loading " + description + ": " + e.getMessage());
         }
-        return new ArrayList<>();
+        count += passBatch(batch, sink);
+        progress.fileRead(file.length());
+        return count;
+    }
+
+    private static <T> int passBatch(List<T> batch, Consumer<List<T>> sink) {
+        int size = batch.size();
+        if (size > 0) {
+            sink.accept(batch);
+            batch.clear();
+        }
+        return size;
     }
 
     /**
@@ -157,7 +512,7 @@ public class DataManager {
      */
     public void saveMember(Member member, StudyGroup studyGroup) {
         studyGroup.addMember(member);
-        saveStudyGroup(studyGroup);
+        recordChange(ADD_MEMBER, "member", member, studyGroup);
     }
 
     /**
@@ -165,7 +520,7 @@ public class DataManager {
      */
     public void removeMember(Member member, StudyGroup studyGroup) {
         studyGroup.removeMember(member);
-        saveStudyGroup(studyGroup);
+        recordChange(REMOVE_MEMBER, "member", member, studyGroup);
     }
 
     /**
@@ -173,7 +528,7 @@ public class DataManager {
      */
     public void saveSchedule(TimeSlot timeSlot, StudyGroup studyGroup) {
         studyGroup.addTimeSlot(timeSlot);
-        saveStudyGroup(studyGroup);
+        recordChange(ADD_TIME_SLOT, "timeSlot", timeSlot, studyGroup);
     }
 
     /**
@@ -181,17 +536,104 @@ public class DataManager {
      */
     public void clearAllData() {
         try {
-            File[] files = dataDir.listFiles();
-            if (files != null) {
-                for (File file : files) {
-                    if (file.isFile()) {
-                        file.delete();
+            // Hold off compactions so a snapshot taken before the clear cannot be written after it
+            synchronized (snapshotLock) {
+                File[] files = dataDir.listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        if (file.isFile()) {
+                            file.delete();
+                        }
                     }
                 }
+                if (journal != null) {
+                    journal.reset();
+                }
+                // Snapshots still queued from before the clear are skipped
+                writtenSnapshot = snapshotsTaken.get();
             }
             System.out.println("✅ All data cleared");
         } catch (Exception e) {
             System.err.println("❌ Error clearing data: " + e.getMessage());
         }
     }
+
+    /**
+     * Waits for a running compaction to finish and closes the change journal.
+     * The data manager must not be used afterwards.
+     */
+    public void close() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            compactor.shutdown();
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("❌ Error closing change journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A study group's settings, members and time slots as they are written to a snapshot,
+     * together with the newest journal segment they cover and the order in which it was taken.
+     */
+    static final class Snapshot {
+        private final GroupSettings settings;
+        private final List<Member> members;
+        private final List<TimeSlot> timeSlots;
+        private final int coveredSegment;
+        private final long sequence;
+
+        private Snapshot(GroupSettings settings, List<Member> members, List<TimeSlot> timeSlots, int coveredSegment,
+                         long sequence) {
+            this.settings = settings;
+            this.members = members;
+            this.timeSlots = timeSlots;
+            this.coveredSegment = coveredSegment;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Tracks how much of the stored data has been read and notifies the listener
+     * each time another percent is done.
+     */
+    private static class LoadProgress {
+        private final LoadProgressListener listener;
+        private final long totalBytes;
+        private long finishedBytes; // Bytes in the files already read completely
+        private int reportedPercent = -1;
+
+        LoadProgress(LoadProgressListener listener, long totalBytes) {
+            this.listener = listener;
+            this.totalBytes = totalBytes;
+        }
+
+        /**
+         * Records how far the file currently being read has got.
+         */
+        void update(long bytesInCurrentFile) {
+            if (listener == null) {
+                return;
+            }
+            long bytesRead = Math.min(finishedBytes + bytesInCurrentFile, totalBytes);
+            int percent = totalBytes > 0 ? (int) (bytesRead * 100 / totalBytes) : 100;
+            if (percent != reportedPercent) {
+                reportedPercent = percent;
+                listener.progressChanged(bytesRead, totalBytes);
+            }
+        }
+
+        /**
+         * Records that the file currently being read is done.
+         */
+        void fileRead(long fileBytes) {
+            finishedBytes += fileBytes;
+            update(0);
+        }
+    }
 }
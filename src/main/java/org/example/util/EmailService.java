@@ -2,13 +2,13 @@ package org.example.util;
 
 import org.example.model.Member;
 import org.example.model.TimeSlot;
+import org.example.model.TimeSlotFormatter;
 
 import javax.mail.*;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Properties;
 
@@ -17,9 +17,6 @@ import java.util.Properties;
  * Uses centralized configuration from email.properties file.
  */
 public class EmailService {
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy");
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm a");
-
     // Email configuration loaded from properties file
     private final Properties emailConfig;
     private final boolean emailEnabled;
@@ -281,9 +278,9 @@ public class EmailService {
                 sb.append("Dear ").append(member.getName()).append(",\n\n");
                 sb.append("You are invited to attend a study group meeting.\n\n");
                 sb.append("Subject: ").append(subject).append("\n");
-                sb.append("Date: ").append(timeSlot.getStartTime().format(DATE_FORMATTER)).append("\n");
-                sb.append("Time: ").append(timeSlot.getStartTime().format(TIME_FORMATTER))
-                  .append(" - ").append(timeSlot.getEndTime().format(TIME_FORMATTER)).append("\n\n");
+                sb.append("Date: ").append(TimeSlotFormatter.formatLongDate(timeSlot.getStartTime())).append("\n");
+                sb.append("Time: ").append(TimeSlotFormatter.formatTwelveHourTime(timeSlot.getStartTime()))
+                  .append(" - ").append(TimeSlotFormatter.formatTwelveHourTime(timeSlot.getEndTime())).append("\n\n");
 
                 if (message != null && !message.isEmpty()) {
                     sb.append("Message: ").append(message).append("\n\n");
@@ -297,9 +294,9 @@ public class EmailService {
                 sb.append("Dear ").append(member.getName()).append(",\n\n");
                 sb.append("The schedule for your study group has been updated.\n\n");
                 sb.append("Subject: ").append(subject).append("\n");
-                sb.append("New Meeting Time: ").append(timeSlot.getStartTime().format(DATE_FORMATTER))
-                  .append(" at ").append(timeSlot.getStartTime().format(TIME_FORMATTER))
-                  .append(" - ").append(timeSlot.getEndTime().format(TIME_FORMATTER)).append("\n\n");
+                sb.append("New Meeting Time: ").append(TimeSlotFormatter.formatLongDate(timeSlot.getStartTime()))
+                  .append(" at ").append(TimeSlotFormatter.formatTwelveHourTime(timeSlot.getStartTime()))
+                  .append(" - ").append(TimeSlotFormatter.formatTwelveHourTime(timeSlot.getEndTime())).append("\n\n");
 
                 if (message != null && !message.isEmpty()) {
                     sb.append("Message: ").append(message).append("\n\n");
@@ -312,9 +309,9 @@ public class EmailService {
                 sb.append("Dear ").append(member.getName()).append(",\n\n");
                 sb.append("This is a reminder for your upcoming study group meeting.\n\n");
                 sb.append("Subject: ").append(subject).append("\n");
-                sb.append("Date: ").append(timeSlot.getStartTime().format(DATE_FORMATTER)).append("\n");
-                sb.append("Time: ").append(timeSlot.getStartTime().format(TIME_FORMATTER))
-                  .append(" - ").append(timeSlot.getEndTime().format(TIME_FORMATTER)).append("\n\n");
+                sb.append("Date: ").append(TimeSlotFormatter.formatLongDate(timeSlot.getStartTime())).append("\n");
+                sb.append("Time: ").append(TimeSlotFormatter.formatTwelveHourTime(timeSlot.getStartTime()))
+                  .append(" - ").append(TimeSlotFormatter.formatTwelveHourTime(timeSlot.getEndTime())).append("\n\n");
 
                 if (message != null && !message.isEmpty()) {
                     sb.append("Message: ").append(message).append("\n\n");
@@ -0,0 +1,89 @@
+package org.example.util;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.example.model.StudyGroup;
+
+import java.time.LocalTime;
+
+/**
+ * A study group's own settings, without its members and time slots, as stored in a snapshot.
+ */
+class GroupSettings {
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("defaultStartTime")
+    private LocalTime defaultStartTime;
+
+    @JsonProperty("defaultEndTime")
+    private LocalTime defaultEndTime;
+
+    @JsonProperty("minimumMembersRequired")
+    private int minimumMembersRequired;
+
+    @JsonProperty("emergencyScheduling")
+    private boolean emergencyScheduling;
+
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    GroupSettings() {
+    }
+
+    /**
+     * Captures the settings of a study group.
+     *
+     * @param studyGroup The study group to take the settings from
+     */
+    GroupSettings(StudyGroup studyGroup) {
+        this(studyGroup.getName(), studyGroup.getDefaultStartTime(), studyGroup.getDefaultEndTime(),
+             studyGroup.getMinimumMembersRequired(), studyGroup.isEmergencyScheduling());
+    }
+
+    GroupSettings(String name, LocalTime defaultStartTime, LocalTime defaultEndTime,
+                  int minimumMembersRequired, boolean emergencyScheduling) {
+        this.name = name;
+        this.defaultStartTime = defaultStartTime;
+        this.defaultEndTime = defaultEndTime;
+        this.minimumMembersRequired = minimumMembersRequired;
+        this.emergencyScheduling = emergencyScheduling;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    LocalTime getDefaultStartTime() {
+        return defaultStartTime;
+    }
+
+    LocalTime getDefaultEndTime() {
+        return defaultEndTime;
+    }
+
+    int getMinimumMembersRequired() {
+        return minimumMembersRequired;
+    }
+
+    boolean isEmergencyScheduling() {
+        return emergencyScheduling;
+    }
+
+    /**
+     * Creates an empty study group with these settings.
+     *
+     * @return The new study group
+     */
+    StudyGroup toStudyGroup() {
+        StudyGroup studyGroup = new StudyGroup(name != null ? name : "My Study Group");
+        if (defaultStartTime != null) {
+            studyGroup.setDefaultStartTime(defaultStartTime);
+        }
+        if (defaultEndTime != null) {
+            studyGroup.setDefaultEndTime(defaultEndTime);
+        }
+        studyGroup.setMinimumMembersRequired(minimumMembersRequired);
+        studyGroup.setEmergencyScheduling(emergencyScheduling);
+        return studyGroup;
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.util;
+
+/**
+ * Receives progress updates while the data manager reads the stored study group.
+ */
+public interface LoadProgressListener {
+
+    /**
+     * Called on the loading thread whenever another percent of the stored data has been read.
+     *
+     * @param bytesRead The number of bytes read so far
+     * @param totalBytes The total number of bytes to read
+     */
+    void progressChanged(long bytesRead, long totalBytes);
+}
@@ -0,0 +1,236 @@
+package org.example.util;
+
+import org.example.model.StudyGroup;
+
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Saves a study group in the background after it changes. Edits only mark the study group
+ * as dirty; a single writer thread saves it once no edit has arrived for the debounce delay,
+ * or once it has been dirty for the maximum delay, so a burst of edits results in one write.
+ * When a write is due, the study group is copied once on the event dispatch thread, which is
+ * the thread that edits it, and the writer thread writes the copy, so it never reads the
+ * study group while it is being changed.
+ */
+public class WriteBehindSaver {
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 500;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 5000;
+
+    private final DataManager dataManager;
+    private final long debounceNanos;
+    private final long maxDelayNanos;
+    private final ScheduledExecutorService writer;
+
+    // Guarded by this
+    private StudyGroup dirtyGroup; // null when there is nothing to write
+    private StudyGroup copyingGroup; // Due to be copied on the event dispatch thread, or null
+    private long generation; // Bumped when pending writes are dropped, so queued copies are skipped
+    private long firstChange; // When the study group became dirty, from System.nanoTime()
+    private long lastChange;
+    private ScheduledFuture<?> pendingWrite;
+
+    /**
+     * Creates a saver with the default debounce and maximum delays.
+     *
+     * @param dataManager The data manager used to save the study group
+     */
+    public WriteBehindSaver(DataManager dataManager) {
+        this(dataManager, DEFAULT_DEBOUNCE_MILLIS, DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    /**
+     * Creates a saver.
+     *
+     * @param dataManager The data manager used to save the study group
+     * @param debounceMillis How long to wait after the last edit before saving
+     * @param maxDelayMillis The longest a study group may stay dirty while edits keep arriving
+     */
+    public WriteBehindSaver(DataManager dataManager, long debounceMillis, long maxDelayMillis) {
+        if (debounceMillis < 0 || maxDelayMillis < debounceMillis) {
+            throw new IllegalArgumentException("Maximum delay must be at least the debounce delay");
+        }
+        this.dataManager = dataManager;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Marks a study group as changed, so that it is saved after the debounce delay.
+     * Nothing is copied here, so this is cheap enough to call on every edit.
+     *
+     * @param studyGroup The study group to save
+     */
+    public synchronized void markDirty(StudyGroup studyGroup) {
+        long now = System.nanoTime();
+        if (dirtyGroup == null) {
+            firstChange = now;
+        }
+        dirtyGroup = studyGroup;
+        lastChange = now;
+        if (pendingWrite == null) {
+            pendingWrite = writer.schedule(this::writeIfDue, debounceNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Drops a pending write without saving, for example before the stored data is cleared.
+     * A write that has already started is waited for, so it cannot land after the clear.
+     */
+    public void discard() {
+        synchronized (this) {
+            dropPendingWrite();
+        }
+        runOnWriter(() -> { });
+    }
+
+    /**
+     * Saves the study group now if it has unsaved changes, and waits for the write to finish.
+     * The study group is copied on the event dispatch thread, so when called on another thread
+     * this waits for the event dispatch thread as well.
+     */
+    public void flush() {
+        StudyGroup studyGroup;
+        synchronized (this) {
+            studyGroup = dirtyGroup != null ? dirtyGroup : copyingGroup;
+            dropPendingWrite();
+        }
+
+        DataManager.Snapshot snapshot = studyGroup != null ? copyOnEventDispatchThread(studyGroup) : null;
+        runOnWriter(() -> {
+            if (snapshot != null) {
+                dataManager.saveSnapshot(snapshot);
+            }
+        });
+    }
+
+    /**
+     * Runs a task on the writer thread, after any write already in progress, and waits for it.
+     */
+    private void runOnWriter(Runnable task) {
+        if (writer.isShutdown()) {
+            return; // Closed, and everything was written when it was closed
+        }
+        try {
+            writer.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("❌ Error saving study group: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Saves any unsaved changes and stops the writer thread. The saver must not be used afterwards.
+     */
+    public void close() {
+        flush();
+        writer.shutdown();
+    }
+
+    /**
+     * Runs on the writer thread when a write was scheduled, and either hands the study group
+     * to the event dispatch thread to be copied or waits longer if edits are still arriving.
+     * The writer thread never waits for the event dispatch thread, which may itself be waiting
+     * for the writer in {@link #discard()}.
+     */
+    private void writeIfDue() {
+        StudyGroup studyGroup;
+        long copyGeneration;
+        synchronized (this) {
+            pendingWrite = null;
+            if (dirtyGroup == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            long quietFor = now - lastChange;
+            long dirtyFor = now - firstChange;
+            if (quietFor < debounceNanos && dirtyFor < maxDelayNanos) {
+                long wait = Math.min(debounceNanos - quietFor, maxDelayNanos - dirtyFor);
+                pendingWrite = writer.schedule(this::writeIfDue, wait, TimeUnit.NANOSECONDS);
+                return;
+            }
+            studyGroup = dirtyGroup;
+            dirtyGroup = null;
+            copyingGroup = studyGroup;
+            copyGeneration = generation;
+        }
+        SwingUtilities.invokeLater(() -> copyAndWrite(studyGroup, copyGeneration));
+    }
+
+    /**
+     * Runs on the event dispatch thread: copies the study group and queues the copy for writing,
+     * unless the write was dropped or flushed meanwhile.
+     */
+    private void copyAndWrite(StudyGroup studyGroup, long copyGeneration) {
+        synchronized (this) {
+            if (copyGeneration != generation) {
+                return;
+            }
+        }
+        DataManager.Snapshot snapshot = takeSnapshot(studyGroup);
+        synchronized (this) {
+            // Checked again under the lock, so a discard either skips this write or waits for it
+            if (copyGeneration != generation || snapshot == null) {
+                return;
+            }
+            copyingGroup = null;
+            writer.execute(() -> dataManager.saveSnapshot(snapshot));
+        }
+    }
+
+    /**
+     * Copies the study group on the event dispatch thread, waiting for it if called elsewhere.
+     *
+     * @return The copy, or null if it could not be taken
+     */
+    private DataManager.Snapshot copyOnEventDispatchThread(StudyGroup studyGroup) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            return takeSnapshot(studyGroup);
+        }
+        AtomicReference<DataManager.Snapshot> snapshot = new AtomicReference<>();
+        try {
+            SwingUtilities.invokeAndWait(() -> snapshot.set(takeSnapshot(studyGroup)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            System.err.println("❌ Error saving study group: " + e.getCause().getMessage());
+        }
+        return snapshot.get();
+    }
+
+    private DataManager.Snapshot takeSnapshot(StudyGroup studyGroup) {
+        try {
+            return dataManager.takeSnapshot(studyGroup);
+        } catch (IOException e) {
+            System.err.println("❌ Error saving study group: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Forgets the unsaved study group, cancels the scheduled write and skips a copy that is
+     * still queued on the event dispatch thread. Must be called while holding this.
+     */
+    private void dropPendingWrite() {
+        dirtyGroup = null;
+        copyingGroup = null;
+        generation++;
+        if (pendingWrite != null) {
+            pendingWrite.cancel(false);
+            pendingWrite = null;
+        }
+    }
+}
@@ -13,8 +13,10 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A custom panel that displays a grid where rows represent group members
@@ -39,6 +41,7 @@ public class CalendarGrid extends JPanel {
     private int timeSlotInterval; // in minutes
 
     private Map<Point, CellState> cellStates;
+    private final Set<Point> recurringCells = new HashSet<>(); // Cells marked from recurring rules, not by the user
     private Point dragStartCell;
     private JPopupMenu contextMenu;
 
@@ -140,7 +143,7 @@ public class CalendarGrid extends JPanel {
                 if (SwingUtilities.isLeftMouseButton(e) && dragStartCell != null) {
                     Point cell = getCellAt(e.getX(), e.getY());
                     if (isValidCell(cell) && !cell.equals(dragStartCell)) {
-                        setCellState(cell, getCellState(dragStartCell));
+                        setCellStateByUser(cell, getCellState(dragStartCell));
                         repaint();
                     }
                 }
@@ -161,7 +164,7 @@ public class CalendarGrid extends JPanel {
         markAvailableItem.addActionListener(e -> {
             Point cell = getCellAt(contextMenu.getX(), contextMenu.getY());
             if (isValidCell(cell)) {
-                setCellState(cell, CellState.AVAILABLE);
+                setCellStateByUser(cell, CellState.AVAILABLE);
                 repaint();
             }
         });
@@ -170,7 +173,7 @@ public class CalendarGrid extends JPanel {
         markUnavailableItem.addActionListener(e -> {
             Point cell = getCellAt(contextMenu.getX(), contextMenu.getY());
             if (isValidCell(cell)) {
-                setCellState(cell, CellState.UNAVAILABLE);
+                setCellStateByUser(cell, CellState.UNAVAILABLE);
                 repaint();
             }
         });
@@ -191,7 +194,7 @@ public class CalendarGrid extends JPanel {
      */
     private void toggleCellState(Point cell) {
         CellState currentState = getCellState(cell);
-        setCellState(cell, currentState == CellState.AVAILABLE ? CellState.UNAVAILABLE : CellState.AVAILABLE);
+        setCellStateByUser(cell, currentState == CellState.AVAILABLE ? CellState.UNAVAILABLE : CellState.AVAILABLE);
     }
 
     /**
@@ -208,6 +211,14 @@ public class CalendarGrid extends JPanel {
         cellStates.put(cell, state);
     }
 
+    /**
+     * Sets the state of a cell the user edited, which keeps it from being reset with the recurring marks.
+     */
+    private void setCellStateByUser(Point cell, CellState state) {
+        recurringCells.remove(cell);
+        setCellState(cell, state);
+    }
+
     /**
      * Gets the total number of time slots across all ranges.
      */
@@ -437,6 +448,7 @@ public class CalendarGrid extends JPanel {
      */
     public void setMembers(List<Member> members) {
         this.members = new ArrayList<>(members);
+        markRecurringAvailability();
         updatePreferredSize();
         repaint();
     }
@@ -446,9 +458,46 @@ public class CalendarGrid extends JPanel {
      */
     public void setDate(LocalDate date) {
         this.currentDate = date;
+        markRecurringAvailability();
         repaint();
     }
 
+    /**
+     * Marks the cells covered by each member's recurring availability on the current date
+     * as available. Marks left by the previous date or member list are cleared first, unless
+     * the user edited the cell since; other cells that are already marked keep their state.
+     */
+    private void markRecurringAvailability() {
+        for (Point cell : recurringCells) {
+            CellState state = getCellState(cell);
+            if (state == CellState.AVAILABLE || state == CellState.COMMON) {
+                cellStates.remove(cell);
+            }
+        }
+        recurringCells.clear();
+
+        for (int row = 0; row < members.size(); row++) {
+            List<TimeSlot> occurrences = members.get(row).getRecurringTimeSlots(currentDate);
+            if (occurrences.isEmpty()) {
+                continue;
+            }
+            for (int col = 0; col < getNumberOfTimeSlots(); col++) {
+                Point cell = new Point(col, row);
+                TimeSlot slot = getTimeSlotAt(col);
+                if (slot == null || getCellState(cell) != CellState.UNAVAILABLE) {
+                    continue;
+                }
+                for (TimeSlot occurrence : occurrences) {
+                    if (slot.isWithin(occurrence)) {
+                        setCellState(cell, CellState.AVAILABLE);
+                        recurringCells.add(cell);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Gets the current date being displayed in the grid.
      */
@@ -602,6 +651,7 @@ public class CalendarGrid extends JPanel {
      */
     public void clearGrid() {
         cellStates.clear();
+        recurringCells.clear();
         repaint();
     }
 
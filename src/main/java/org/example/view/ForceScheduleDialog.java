@@ -2,6 +2,7 @@ package org.example.view;
 
 import org.example.model.Member;
 import org.example.model.TimeSlot;
+import org.example.model.TimeSlotFormatter;
 
 import javax.swing.*;
 import java.awt.*;
@@ -10,7 +11,6 @@ import java.awt.event.ActionListener;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -75,7 +75,7 @@ public class ForceScheduleDialog extends JDialog {
 
         // Add components to inputs panel
         inputsPanel.add(new JLabel("Date:"));
-        inputsPanel.add(new JLabel(date.format(DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy"))));
+        inputsPanel.add(new JLabel(TimeSlotFormatter.formatLongDate(date)));
 
         inputsPanel.add(new JLabel("Start Time:"));
         JPanel timePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
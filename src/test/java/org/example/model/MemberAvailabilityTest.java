@@ -0,0 +1,114 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the merged availability a {@link Member} keeps up to date on every edit against an
+ * index rebuilt from scratch out of the member's stored time slots, and the slots stored in
+ * canonical mode against a plain merge.
+ */
+class MemberAvailabilityTest {
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+    private static final LocalDateTime FROM = MONDAY.atStartOfDay();
+    private static final LocalDateTime TO = MONDAY.plusDays(3).atStartOfDay();
+
+    @Test
+    void removingOverlappingSlotsMatchesRebuild() {
+        Random random = new Random(47);
+        Member member = new Member("Member", "member@example.com");
+        List<TimeSlot> added = new ArrayList<>();
+        for (int step = 0; step < 3000; step++) {
+            // Mostly remove slots that are present, so overlapping slots come and go
+            if (!added.isEmpty() && random.nextInt(5) < 2) {
+                TimeSlot slot = added.remove(random.nextInt(added.size()));
+                assertEquals(member.getAvailableTimeSlots().contains(slot), member.removeTimeSlot(slot));
+            } else {
+                TimeSlot slot = randomSlot(random);
+                if (member.addTimeSlot(slot)) {
+                    added.add(slot);
+                }
+            }
+            assertMatchesRebuild(member, "step " + step);
+        }
+        while (!added.isEmpty()) {
+            member.removeTimeSlot(added.remove(added.size() - 1));
+            assertMatchesRebuild(member, added.size() + " slots left");
+        }
+        assertEquals(0, member.getAvailabilityOverlapping(FROM, TO).size());
+    }
+
+    @Test
+    void slotsAddedBeforeCanonicalModeIsTurnedOffRemoveCleanly() {
+        Member member = new Member("Member", "member@example.com");
+        member.addTimeSlot(new TimeSlot(MONDAY.atTime(9, 0), MONDAY.atTime(10, 0)));
+        member.addTimeSlot(new TimeSlot(MONDAY.atTime(9, 30), MONDAY.atTime(10, 30)));
+        member.setCanonicalizing(true);
+        member.addTimeSlot(new TimeSlot(MONDAY.atTime(10, 0), MONDAY.atTime(11, 0)));
+        member.setCanonicalizing(false);
+
+        // The slots were stored as one merged slot, so removing it frees the whole morning
+        member.addTimeSlot(new TimeSlot(MONDAY.atTime(10, 30), MONDAY.atTime(12, 0)));
+        member.removeTimeSlot(new TimeSlot(MONDAY.atTime(9, 0), MONDAY.atTime(11, 0)));
+
+        assertMatchesRebuild(member, "after switching modes");
+        assertEquals(List.of(MONDAY.atTime(10, 30)), new ArrayList<>(member.getAvailabilityOverlapping(FROM, TO).keySet()));
+    }
+
+    @Test
+    void canonicalEditsMatchMergedQuarterHours() {
+        Random random = new Random(53);
+        Member member = new Member("Member", "member@example.com");
+        member.setCanonicalizing(true);
+        BitSet quarters = new BitSet(); // Quarter hours since FROM that the member is available for
+        for (int step = 0; step < 3000; step++) {
+            TimeSlot slot = randomSlot(random);
+            int first = (int) (Duration.between(FROM, slot.getStartTime()).toMinutes() / 15);
+            int last = (int) (Duration.between(FROM, slot.getEndTime()).toMinutes() / 15);
+            if (random.nextInt(5) < 2) {
+                boolean covered = quarters.nextClearBit(first) >= last;
+                assertEquals(covered, member.removeTimeSlot(slot), "remove at step " + step);
+                if (covered) {
+                    quarters.clear(first, last);
+                }
+            } else {
+                boolean covered = quarters.nextClearBit(first) >= last;
+                assertEquals(!covered, member.addTimeSlot(slot), "add at step " + step);
+                quarters.set(first, last);
+            }
+
+            List<TimeSlot> expected = new ArrayList<>();
+            for (int start = quarters.nextSetBit(0); start >= 0; start = quarters.nextSetBit(quarters.nextClearBit(start))) {
+                expected.add(new TimeSlot(FROM.plusMinutes(15L * start), FROM.plusMinutes(15L * quarters.nextClearBit(start))));
+            }
+            List<TimeSlot> stored = new ArrayList<>(member.getAvailableTimeSlots());
+            stored.sort(Comparator.comparing(TimeSlot::getStartTime));
+            assertEquals(expected, stored, "stored slots at step " + step);
+            assertMatchesRebuild(member, "step " + step);
+        }
+    }
+
+    private static void assertMatchesRebuild(Member member, String message) {
+        AvailabilityIndex rebuilt = new AvailabilityIndex();
+        rebuilt.rebuild(member.getAvailableTimeSlots());
+        assertEquals(rebuilt.intervals(), member.getAvailabilityOverlapping(FROM, TO), "intervals at " + message);
+    }
+
+    /**
+     * Picks from a small range of times, so that slots often overlap, touch or repeat.
+     */
+    private static TimeSlot randomSlot(Random random) {
+        LocalDateTime start = MONDAY.plusDays(random.nextInt(2)).atTime(8 + random.nextInt(6), 15 * random.nextInt(4));
+        return new TimeSlot(start, start.plusMinutes(15 * (1 + random.nextInt(8))));
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link PackedTimeSlots} against a plain list of time slots, and that the lists it
+ * publishes are shared, read-only and unaffected by later changes.
+ */
+class PackedTimeSlotsTest {
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Test
+    void randomChangesMatchList() {
+        Random random = new Random(41);
+        PackedTimeSlots packed = new PackedTimeSlots();
+        List<TimeSlot> expected = new ArrayList<>();
+        for (int step = 0; step < 5000; step++) {
+            TimeSlot slot = randomSlot(random);
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    assertEquals(!expected.contains(slot), packed.add(slot), "add at step " + step);
+                    if (!expected.contains(slot)) {
+                        expected.add(slot.copy());
+                    }
+                    break;
+                case 2:
+                    // Mostly remove slots that are present, so the set does not just keep growing
+                    if (!expected.isEmpty() && random.nextBoolean()) {
+                        slot = expected.get(random.nextInt(expected.size()));
+                    }
+                    assertEquals(expected.remove(slot), packed.remove(slot), "remove at step " + step);
+                    break;
+                default:
+                    assertEquals(expected.contains(slot), packed.contains(slot), "contains at step " + step);
+                    break;
+            }
+            assertEquals(expected.size(), packed.size());
+            if (step % 50 == 0) {
+                assertSameSlots(expected, packed.snapshot());
+            }
+        }
+        assertSameSlots(expected, packed.snapshot());
+    }
+
+    @Test
+    void removalsKeepOrderAndLookups() {
+        Random random = new Random(43);
+        PackedTimeSlots packed = new PackedTimeSlots();
+        List<TimeSlot> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime start = MONDAY.atStartOfDay().plusMinutes(7L * i);
+            TimeSlot slot = new TimeSlot(start, start.plusMinutes(5 + random.nextInt(3)));
+            packed.add(slot);
+            expected.add(slot);
+        }
+
+        while (expected.size() > 10) {
+            TimeSlot removed = expected.remove(random.nextInt(expected.size()));
+            assertTrue(packed.remove(removed));
+            assertFalse(packed.contains(removed));
+            if (expected.size() % 97 == 0) {
+                for (TimeSlot slot : expected) {
+                    assertTrue(packed.contains(slot), slot + " lost after removals");
+                }
+                assertEquals(expected, packed.snapshot());
+            }
+        }
+        assertEquals(expected, packed.snapshot());
+        for (TimeSlot slot : expected) {
+            assertFalse(packed.add(slot));
+        }
+    }
+
+    @Test
+    void readsShareThePublishedList() {
+        Member member = new Member("Member", "member@example.com");
+        TimeSlot first = new TimeSlot(MONDAY.atTime(9, 0), MONDAY.atTime(10, 0), "Lecture", "Room 1");
+        member.addTimeSlot(first);
+        member.addTimeSlot(new TimeSlot(MONDAY.atTime(11, 0), MONDAY.atTime(12, 0)));
+
+        List<TimeSlot> published = member.getAvailableTimeSlots();
+        assertSame(published, member.getAvailableTimeSlots());
+        assertSame(published.get(0), member.getAvailableTimeSlots().get(0));
+
+        member.addTimeSlot(new TimeSlot(MONDAY.atTime(14, 0), MONDAY.atTime(15, 0)));
+        member.removeTimeSlot(first);
+
+        // The earlier list still shows the slots as they were when it was published
+        assertEquals(2, published.size());
+        assertEquals("Lecture", published.get(0).getTitle());
+        assertEquals(2, member.getAvailableTimeSlots().size());
+        assertFalse(member.getAvailableTimeSlots().contains(first));
+    }
+
+    @Test
+    void publishedSlotsAreReadOnly() {
+        StudyGroup group = new StudyGroup("Group");
+        TimeSlot meeting = new TimeSlot(MONDAY.atTime(9, 0), MONDAY.atTime(10, 0), "Meeting", "");
+        group.addTimeSlot(meeting);
+
+        // The caller's slot was copied, so it stays writable and changing it does not reach the group
+        meeting.setTitle("Changed");
+        assertEquals("Meeting", group.getTimeSlots().get(0).getTitle());
+
+        TimeSlot shared = group.getTimeSlots().get(0);
+        assertThrows(UnsupportedOperationException.class, () -> shared.setTitle("Changed"));
+        assertThrows(UnsupportedOperationException.class, () -> shared.setEndTime(MONDAY.atTime(11, 0)));
+        assertThrows(UnsupportedOperationException.class, () -> group.getTimeSlots().add(meeting));
+
+        TimeSlot copy = shared.copy();
+        copy.setTitle("Changed");
+        assertTrue(group.removeTimeSlot(copy));
+    }
+
+    private static void assertSameSlots(List<TimeSlot> expected, List<TimeSlot> actual) {
+        assertEquals(expected, actual);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getTitle(), actual.get(i).getTitle());
+            assertEquals(expected.get(i).getDescription(), actual.get(i).getDescription());
+        }
+    }
+
+    /**
+     * Picks from a small range of times, so that equal slots come up often. Some slots carry
+     * a title, and some start or end part-way through a minute.
+     */
+    private static TimeSlot randomSlot(Random random) {
+        LocalDateTime start = MONDAY.plusDays(random.nextInt(3)).atTime(8 + random.nextInt(4), 15 * random.nextInt(4));
+        if (random.nextInt(10) == 0) {
+            start = start.plusSeconds(30);
+        }
+        LocalDateTime end = start.plusMinutes(15 * (1 + random.nextInt(3)));
+        return random.nextInt(4) == 0
+                ? new TimeSlot(start, end, "Title " + random.nextInt(3), "")
+                : new TimeSlot(start, end);
+    }
+}
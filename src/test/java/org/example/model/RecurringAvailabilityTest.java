@@ -0,0 +1,132 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks on which dates a {@link RecurringAvailability} occurs: its days of the week, its
+ * inclusive date bounds and its excluded dates, and the occurrences a {@link Member} expands.
+ */
+class RecurringAvailabilityTest {
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+    private static final LocalTime SIX_PM = LocalTime.of(18, 0);
+    private static final LocalTime NINE_PM = LocalTime.of(21, 0);
+
+    @Test
+    void occursOnMatchesRuleDefinition() {
+        Random random = new Random(59);
+        for (int rule = 0; rule < 200; rule++) {
+            Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            while (days.isEmpty()) {
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    if (random.nextBoolean()) {
+                        days.add(day);
+                    }
+                }
+            }
+            LocalDate startDate = random.nextBoolean() ? MONDAY.plusDays(random.nextInt(20)) : null;
+            LocalDate endDate = random.nextBoolean() ? MONDAY.plusDays(20 + random.nextInt(20)) : null;
+            RecurringAvailability availability = new RecurringAvailability(days, SIX_PM, NINE_PM, startDate, endDate);
+            Set<LocalDate> exceptions = new TreeSet<>();
+            for (int i = 0; i < 5; i++) {
+                LocalDate date = MONDAY.plusDays(random.nextInt(40));
+                assertEquals(exceptions.add(date), availability.addException(date));
+            }
+            LocalDate included = exceptions.iterator().next();
+            assertTrue(availability.removeException(included));
+            exceptions.remove(included);
+            assertEquals(exceptions, availability.getExceptions());
+
+            for (LocalDate date = MONDAY.minusDays(7); date.isBefore(MONDAY.plusDays(47)); date = date.plusDays(1)) {
+                boolean expected = days.contains(date.getDayOfWeek())
+                        && (startDate == null || !date.isBefore(startDate))
+                        && (endDate == null || !date.isAfter(endDate))
+                        && !exceptions.contains(date);
+                assertEquals(expected, availability.occursOn(date), "rule " + rule + " on " + date);
+                TimeSlot occurrence = availability.getTimeSlotOn(date);
+                if (expected) {
+                    assertEquals(new TimeSlot(date.atTime(SIX_PM), date.atTime(NINE_PM)), occurrence);
+                } else {
+                    assertNull(occurrence, "rule " + rule + " on " + date);
+                }
+            }
+        }
+    }
+
+    @Test
+    void boundsAndExceptionsApplyToSingleDates() {
+        LocalDate wednesday = MONDAY.plusDays(2);
+        RecurringAvailability availability = new RecurringAvailability(
+                EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), SIX_PM, NINE_PM, MONDAY, MONDAY.plusWeeks(1));
+
+        // Both bounds are part of the range
+        assertTrue(availability.occursOn(MONDAY));
+        assertTrue(availability.occursOn(MONDAY.plusWeeks(1)));
+        assertFalse(availability.occursOn(MONDAY.minusWeeks(1)));
+        assertFalse(availability.occursOn(wednesday.plusWeeks(1)));
+        assertFalse(availability.occursOn(MONDAY.plusDays(1)));
+        assertFalse(availability.occursOn(null));
+
+        assertTrue(availability.addException(wednesday));
+        assertFalse(availability.addException(wednesday));
+        assertFalse(availability.addException(null));
+        assertFalse(availability.occursOn(wednesday));
+        assertTrue(availability.occursOn(MONDAY));
+
+        assertTrue(availability.removeException(wednesday));
+        assertFalse(availability.removeException(wednesday));
+        assertTrue(availability.occursOn(wednesday));
+    }
+
+    @Test
+    void invalidRulesAreRejected() {
+        Set<DayOfWeek> monday = EnumSet.of(DayOfWeek.MONDAY);
+        assertThrows(IllegalArgumentException.class,
+                () -> new RecurringAvailability(EnumSet.noneOf(DayOfWeek.class), SIX_PM, NINE_PM));
+        assertThrows(IllegalArgumentException.class, () -> new RecurringAvailability(null, SIX_PM, NINE_PM));
+        assertThrows(IllegalArgumentException.class, () -> new RecurringAvailability(monday, null, NINE_PM));
+        assertThrows(IllegalArgumentException.class, () -> new RecurringAvailability(monday, NINE_PM, SIX_PM));
+        assertThrows(IllegalArgumentException.class, () -> new RecurringAvailability(monday, SIX_PM, SIX_PM));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RecurringAvailability(monday, SIX_PM, NINE_PM, MONDAY, MONDAY.minusDays(1)));
+
+        // A rule bounded to a single date is fine
+        assertTrue(new RecurringAvailability(monday, SIX_PM, NINE_PM, MONDAY, MONDAY).occursOn(MONDAY));
+    }
+
+    @Test
+    void memberExpandsEveryRuleThatOccurs() {
+        Member member = new Member("Member", "member@example.com");
+        RecurringAvailability evenings = new RecurringAvailability(EnumSet.of(DayOfWeek.MONDAY), SIX_PM, NINE_PM);
+        RecurringAvailability mornings = new RecurringAvailability(
+                EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY), LocalTime.of(8, 0), LocalTime.of(10, 0));
+        mornings.addException(MONDAY);
+        assertTrue(member.addRecurringAvailability(evenings));
+        assertTrue(member.addRecurringAvailability(mornings));
+        assertFalse(member.addRecurringAvailability(evenings.copy()));
+
+        // The member keeps a copy, so excluding a date afterwards does not reach it
+        evenings.addException(MONDAY.plusWeeks(1));
+
+        assertEquals(List.of(new TimeSlot(MONDAY.atTime(SIX_PM), MONDAY.atTime(NINE_PM))),
+                member.getRecurringTimeSlots(MONDAY));
+        assertEquals(List.of(new TimeSlot(MONDAY.plusDays(1).atTime(8, 0), MONDAY.plusDays(1).atTime(10, 0))),
+                member.getRecurringTimeSlots(MONDAY.plusDays(1)));
+        assertEquals(2, member.getRecurringTimeSlots(MONDAY.plusWeeks(1)).size());
+        assertEquals(List.of(), member.getRecurringTimeSlots(MONDAY.plusDays(2)));
+    }
+}
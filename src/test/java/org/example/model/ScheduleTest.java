@@ -0,0 +1,325 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the {@link Schedule} queries, which use the start-ordered slot map, against a scan of
+ * every slot, as the original list-based implementation did.
+ */
+class ScheduleTest {
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Test
+    void conflictQueriesMatchScan() {
+        Random random = new Random(71);
+        for (int round = 0; round < 50; round++) {
+            Schedule schedule = new Schedule(null);
+            List<TimeSlot> scheduled = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                TimeSlot slot = randomSlot(random);
+                boolean free = scanConflicts(scheduled, slot).isEmpty();
+                assertEquals(free, schedule.addTimeSlot(slot), "add in round " + round);
+                if (free) {
+                    scheduled.add(slot);
+                }
+            }
+            scheduled.sort(Comparator.comparing(TimeSlot::getStartTime));
+            assertEquals(scheduled, schedule.getTimeSlots());
+
+            for (int query = 0; query < 200; query++) {
+                TimeSlot slot = randomSlot(random);
+                List<TimeSlot> expected = scanConflicts(scheduled, slot);
+                assertEquals(!expected.isEmpty(), schedule.hasConflict(slot), slot + " in round " + round);
+                assertEquals(expected, schedule.getConflictingSlots(slot), slot + " in round " + round);
+            }
+        }
+    }
+
+    @Test
+    void addAllMatchesAddingInStartOrder() {
+        Random random = new Random(73);
+        for (int round = 0; round < 200; round++) {
+            Schedule schedule = new Schedule(null);
+            List<TimeSlot> scheduled = new ArrayList<>();
+            for (int i = random.nextInt(20); i > 0; i--) {
+                TimeSlot slot = randomSlot(random);
+                if (schedule.addTimeSlot(slot)) {
+                    scheduled.add(slot);
+                }
+            }
+            scheduled.sort(Comparator.comparing(TimeSlot::getStartTime));
+
+            // Batches overlap themselves as well as the schedule, and may repeat a slot or hold nulls
+            List<TimeSlot> batch = new ArrayList<>();
+            for (int i = random.nextInt(30); i > 0; i--) {
+                batch.add(random.nextInt(15) == 0 ? null : randomSlot(random));
+            }
+            if (!batch.isEmpty() && random.nextBoolean()) {
+                batch.add(batch.get(random.nextInt(batch.size())));
+            }
+
+            List<String> expected = scanAddAll(scheduled, batch);
+            assertEquals(expected, describe(schedule.addAll(batch)), "round " + round);
+            scheduled.sort(Comparator.comparing(TimeSlot::getStartTime));
+            assertEquals(scheduled, schedule.getTimeSlots(), "slots after round " + round);
+        }
+    }
+
+    @Test
+    void addAllReportsConflictsWithinTheBatch() {
+        Schedule schedule = new Schedule(null);
+        schedule.addTimeSlot(slot(MONDAY, 8, 9));
+
+        // Given out of order: the batch is checked in start order, so 8-10 is rejected before 9-11
+        // is accepted, and 11-13 only touches 9-11
+        List<Schedule.ScheduleResult> results = schedule.addAll(List.of(
+                slot(MONDAY, 11, 13), slot(MONDAY, 10, 12), slot(MONDAY, 9, 11), slot(MONDAY, 8, 10)));
+
+        assertEquals(List.of(
+                "added",
+                "conflicts with [" + slot(MONDAY, 9, 11) + "]",
+                "added",
+                "conflicts with [" + slot(MONDAY, 8, 9) + "]"), describe(results));
+        assertEquals(List.of(slot(MONDAY, 8, 9), slot(MONDAY, 9, 11), slot(MONDAY, 11, 13)), schedule.getTimeSlots());
+    }
+
+    @Test
+    void dayAndInstantLookupsMatchScan() {
+        Random random = new Random(79);
+        for (int round = 0; round < 50; round++) {
+            // Late slots run past midnight, and some end or start exactly at it
+            Schedule schedule = new Schedule(null);
+            List<TimeSlot> scheduled = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                LocalDateTime start = MONDAY.plusDays(random.nextInt(4)).atTime(18 + random.nextInt(6), 30 * random.nextInt(2));
+                TimeSlot slot = new TimeSlot(start, random.nextInt(3) == 0
+                        ? start.toLocalDate().plusDays(1).atStartOfDay()
+                        : start.plusMinutes(30 * (1 + random.nextInt(8))));
+                if (schedule.addTimeSlot(slot)) {
+                    scheduled.add(slot);
+                }
+            }
+            scheduled.sort(Comparator.comparing(TimeSlot::getStartTime));
+
+            for (int day = -1; day < 6; day++) {
+                LocalDate date = MONDAY.plusDays(day);
+                List<TimeSlot> onDate = new ArrayList<>();
+                for (TimeSlot slot : scheduled) {
+                    if (slot.getStartTime().toLocalDate().equals(date)) {
+                        onDate.add(slot);
+                    }
+                }
+                assertEquals(onDate, schedule.getTimeSlotsOnDate(date), date + " in round " + round);
+
+                for (int minute = 0; minute < 24 * 60; minute += 15) {
+                    LocalDateTime time = date.atStartOfDay().plusMinutes(minute);
+                    boolean expected = scheduled.stream().anyMatch(
+                            slot -> !time.isBefore(slot.getStartTime()) && !time.isAfter(slot.getEndTime()));
+                    assertEquals(expected, schedule.isAvailableAt(time), time + " in round " + round);
+                }
+            }
+        }
+    }
+
+    @Test
+    void lookupsAtMidnight() {
+        Schedule schedule = new Schedule(null);
+        LocalDate tuesday = MONDAY.plusDays(1);
+        TimeSlot lateShift = new TimeSlot(MONDAY.atTime(22, 0), tuesday.atTime(1, 0));
+        TimeSlot untilMidnight = new TimeSlot(tuesday.atTime(23, 0), tuesday.plusDays(1).atStartOfDay());
+        TimeSlot fromMidnight = new TimeSlot(tuesday.plusDays(1).atStartOfDay(), tuesday.plusDays(1).atTime(2, 0));
+        schedule.addAll(List.of(lateShift, untilMidnight, fromMidnight));
+
+        // A slot belongs to the day it starts on, even if most of it falls on the next day
+        assertEquals(List.of(lateShift), schedule.getTimeSlotsOnDate(MONDAY));
+        assertEquals(List.of(untilMidnight), schedule.getTimeSlotsOnDate(tuesday));
+        assertEquals(List.of(fromMidnight), schedule.getTimeSlotsOnDate(tuesday.plusDays(1)));
+
+        assertTrue(schedule.isAvailableAt(tuesday.atStartOfDay()));
+        assertTrue(schedule.isAvailableAt(tuesday.atTime(1, 0)));
+        assertFalse(schedule.isAvailableAt(tuesday.atTime(1, 1)));
+        assertTrue(schedule.isAvailableAt(tuesday.plusDays(1).atStartOfDay()));
+        assertFalse(schedule.isAvailableAt(MONDAY.atTime(21, 59)));
+    }
+
+    @Test
+    void emptyScheduleIsFreeThroughout() {
+        Schedule schedule = new Schedule(null);
+
+        assertEquals(List.of(slot(MONDAY, 9, 17)), schedule.freeWindows(MONDAY.atTime(9, 0), MONDAY.atTime(17, 0), 30));
+        assertEquals(List.of(), schedule.freeWindows(MONDAY.atTime(9, 0), MONDAY.atTime(9, 0), 0));
+        assertEquals(new TimeSlot(MONDAY.atTime(9, 10), MONDAY.atTime(10, 10)), schedule.nextFreeSlot(MONDAY.atTime(9, 10), 60));
+    }
+
+    @Test
+    void backToBackSlotsLeaveNoWindowBetweenThem() {
+        Schedule schedule = new Schedule(null);
+        schedule.addAll(List.of(slot(MONDAY, 9, 10), slot(MONDAY, 10, 11), slot(MONDAY, 11, 12), slot(MONDAY, 14, 15)));
+
+        assertEquals(List.of(slot(MONDAY, 8, 9), slot(MONDAY, 12, 14), slot(MONDAY, 15, 16)),
+                schedule.freeWindows(MONDAY.atTime(8, 0), MONDAY.atTime(16, 0), 1));
+        // Asked from inside the run, the first free time is after all of it
+        assertEquals(slot(MONDAY, 12, 13), schedule.nextFreeSlot(MONDAY.atTime(9, 30), 60));
+        assertEquals(slot(MONDAY, 12, 14), schedule.nextFreeSlot(MONDAY.atTime(10, 0), 120));
+    }
+
+    @Test
+    void windowsShorterThanTheDurationAreSkipped() {
+        Schedule schedule = new Schedule(null);
+        schedule.addAll(List.of(slot(MONDAY, 9, 10),
+                new TimeSlot(MONDAY.atTime(10, 30), MONDAY.atTime(12, 0)),
+                new TimeSlot(MONDAY.atTime(12, 45), MONDAY.atTime(14, 0))));
+
+        assertEquals(List.of(new TimeSlot(MONDAY.atTime(12, 0), MONDAY.atTime(12, 45)), slot(MONDAY, 14, 16)),
+                schedule.freeWindows(MONDAY.atTime(9, 0), MONDAY.atTime(16, 0), 45));
+        assertEquals(List.of(slot(MONDAY, 14, 16)), schedule.freeWindows(MONDAY.atTime(9, 0), MONDAY.atTime(16, 0), 46));
+        // The 30 and 45 minute gaps are too short for an hour, so the slot goes after the last meeting
+        assertEquals(slot(MONDAY, 14, 15), schedule.nextFreeSlot(MONDAY.atTime(9, 0), 60));
+        assertEquals(new TimeSlot(MONDAY.atTime(12, 0), MONDAY.atTime(12, 45)), schedule.nextFreeSlot(MONDAY.atTime(9, 0), 45));
+    }
+
+    @Test
+    void freeTimeMatchesPlainSortedMerge() {
+        Random random = new Random(83);
+        for (int round = 0; round < 100; round++) {
+            Schedule schedule = new Schedule(null);
+            List<TimeSlot> scheduled = new ArrayList<>();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                TimeSlot slot = randomSlot(random);
+                if (schedule.addTimeSlot(slot)) {
+                    scheduled.add(slot);
+                }
+            }
+
+            for (int query = 0; query < 30; query++) {
+                TimeSlot range = randomSlot(random);
+                LocalDateTime from = range.getStartTime().minusHours(random.nextInt(6));
+                LocalDateTime to = range.getEndTime().plusHours(random.nextInt(6));
+                int duration = 15 * random.nextInt(8);
+                String message = from + " to " + to + " for " + duration + " in round " + round;
+
+                List<TimeSlot> expected = new ArrayList<>();
+                for (TimeSlot gap : mergedGaps(scheduled, from, to)) {
+                    if (gap.getDurationMinutes() >= duration) {
+                        expected.add(gap);
+                    }
+                }
+                assertEquals(expected, schedule.freeWindows(from, to, duration), message);
+
+                if (duration > 0) {
+                    // The last gap runs on past every slot, so there is always a first gap that fits
+                    LocalDateTime farEnd = MONDAY.plusDays(5).atStartOfDay();
+                    TimeSlot first = mergedGaps(scheduled, from, farEnd).stream()
+                            .filter(gap -> gap.getDurationMinutes() >= duration)
+                            .findFirst().orElseThrow();
+                    assertEquals(new TimeSlot(first.getStartTime(), first.getStartTime().plusMinutes(duration)),
+                            schedule.nextFreeSlot(from, duration), message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts the slots, merges overlapping and touching ones into busy runs, and lists the gaps
+     * between the runs that fall inside the range, clipped to it.
+     */
+    private static List<TimeSlot> mergedGaps(List<TimeSlot> slots, LocalDateTime from, LocalDateTime to) {
+        List<TimeSlot> sorted = new ArrayList<>(slots);
+        sorted.sort(Comparator.comparing(TimeSlot::getStartTime));
+        List<TimeSlot> gaps = new ArrayList<>();
+        LocalDateTime free = from;
+        for (TimeSlot slot : sorted) {
+            if (slot.getStartTime().isAfter(free) && free.isBefore(to)) {
+                gaps.add(new TimeSlot(free, slot.getStartTime().isBefore(to) ? slot.getStartTime() : to));
+            }
+            if (slot.getEndTime().isAfter(free)) {
+                free = slot.getEndTime();
+            }
+        }
+        if (free.isBefore(to)) {
+            gaps.add(new TimeSlot(free, to));
+        }
+        return gaps;
+    }
+
+    /**
+     * Lists every scheduled slot overlapping the given one, in start order.
+     */
+    private static List<TimeSlot> scanConflicts(List<TimeSlot> scheduled, TimeSlot slot) {
+        List<TimeSlot> conflicts = new ArrayList<>();
+        for (TimeSlot existing : scheduled) {
+            if (existing.overlaps(slot)) {
+                conflicts.add(existing);
+            }
+        }
+        conflicts.sort(Comparator.comparing(TimeSlot::getStartTime));
+        return conflicts;
+    }
+
+    /**
+     * Adds a batch one slot at a time in start order, checking each against the scheduled slots
+     * and the batch slots added before it, and describes the results in the order given.
+     */
+    private static List<String> scanAddAll(List<TimeSlot> scheduled, List<TimeSlot> batch) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i) != null) {
+                order.add(i);
+            }
+        }
+        order.sort(Comparator.comparing(i -> batch.get(i).getStartTime()));
+
+        String[] results = new String[batch.size()];
+        List<TimeSlot> accepted = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            results[i] = "rejected";
+        }
+        for (int i : order) {
+            List<TimeSlot> conflicts = scanConflicts(scheduled, batch.get(i));
+            conflicts.addAll(scanConflicts(accepted, batch.get(i)));
+            if (conflicts.isEmpty()) {
+                accepted.add(batch.get(i));
+                results[i] = "added";
+            } else {
+                results[i] = "conflicts with " + conflicts;
+            }
+        }
+        scheduled.addAll(accepted);
+        return List.of(results);
+    }
+
+    private static List<String> describe(List<Schedule.ScheduleResult> results) {
+        List<String> lines = new ArrayList<>();
+        for (Schedule.ScheduleResult result : results) {
+            if (result.isSuccess()) {
+                lines.add("added");
+            } else {
+                lines.add(result.hasConflicts() ? "conflicts with " + result.getConflicts() : "rejected");
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Picks slots of 15 minutes to three hours over two days, so that they often overlap or touch.
+     */
+    private static TimeSlot randomSlot(Random random) {
+        LocalDateTime start = MONDAY.plusDays(random.nextInt(2)).atTime(8 + random.nextInt(12), 15 * random.nextInt(4));
+        return new TimeSlot(start, start.plusMinutes(15 * (1 + random.nextInt(12))));
+    }
+
+    private static TimeSlot slot(LocalDate date, int startHour, int endHour) {
+        return new TimeSlot(date.atTime(startHour, 0), date.atTime(endHour, 0));
+    }
+}
@@ -0,0 +1,212 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the per-quantum attendance counts, which {@link StudyGroup} keeps up to date
+ * as members change, always equal a fresh count of every member's availability.
+ */
+class StudyGroupAttendanceTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 3);
+    private static final int DAYS = 3;
+    private static final int QUANTA_PER_DAY = 24 * 60 / 5;
+
+    @Test
+    void incrementalCountsMatchRecount() {
+        Random random = new Random(11);
+        StudyGroup group = new StudyGroup("Group");
+        List<Member> outside = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Member member = new Member("Member " + i, "member" + i + "@example.com");
+            if (i < 3) {
+                group.addMember(member);
+            } else {
+                outside.add(member);
+            }
+        }
+
+        // Track the common quanta of each day from the published changes alone
+        Map<LocalDate, boolean[]> published = new HashMap<>();
+        for (int day = 0; day < DAYS; day++) {
+            LocalDate date = FIRST_DAY.plusDays(day);
+            published.put(date, toQuanta(date, group.getCommonWindows(date)));
+        }
+        group.addCommonSlotListener((date, becameCommon, noLongerCommon) -> {
+            boolean[] quanta = published.get(date);
+            mark(quanta, date, becameCommon, true);
+            mark(quanta, date, noLongerCommon, false);
+        });
+
+        for (int step = 0; step < 300; step++) {
+            applyRandomEdit(random, group, outside);
+
+            for (int day = 0; day < DAYS; day++) {
+                LocalDate date = FIRST_DAY.plusDays(day);
+                int[] expected = recount(group, date);
+                int threshold = Math.max(requiredMembers(group), 1);
+                boolean[] expectedCommon = new boolean[QUANTA_PER_DAY];
+                for (int quantum = 0; quantum < QUANTA_PER_DAY; quantum++) {
+                    assertEquals(expected[quantum],
+                            group.getAvailableMemberCount(date.atStartOfDay().plusMinutes(5L * quantum)),
+                            "step " + step + ", " + date + ", quantum " + quantum);
+                    expectedCommon[quantum] = expected[quantum] >= threshold;
+                }
+                assertEquals(toList(expectedCommon), toList(toQuanta(date, group.getCommonWindows(date))),
+                        "common windows at step " + step);
+                assertEquals(toList(expectedCommon), toList(published.get(date)),
+                        "published changes at step " + step);
+            }
+        }
+    }
+
+    @Test
+    void onlyRecentlyQueriedDaysAreTracked() {
+        StudyGroup group = new StudyGroup("Group");
+        int days = StudyGroup.TRACKED_ATTENDANCE_DAYS + 10;
+        LocalDate firstDay = FIRST_DAY;
+        LocalDate lastDay = FIRST_DAY.plusDays(days - 1);
+        Member member = new Member("Member 0", "member0@example.com");
+        member.addTimeSlot(new TimeSlot(lastDay.atTime(8, 0), lastDay.atTime(12, 0)));
+        group.addMember(member);
+        for (int day = 0; day < days; day++) {
+            group.getCommonWindows(FIRST_DAY.plusDays(day));
+        }
+        List<LocalDate> reported = new ArrayList<>();
+        group.addCommonSlotListener((date, becameCommon, noLongerCommon) -> reported.add(date));
+
+        // The first days were dropped, so joining only recounts and reports the tracked ones
+        Member joining = new Member("Member 1", "member1@example.com");
+        joining.addTimeSlot(new TimeSlot(firstDay.atTime(9, 0), firstDay.atTime(10, 0)));
+        joining.addTimeSlot(new TimeSlot(lastDay.atTime(9, 0), lastDay.atTime(10, 0)));
+        group.addMember(joining);
+        member.addTimeSlot(new TimeSlot(firstDay.atTime(9, 30), firstDay.atTime(11, 0)));
+        assertEquals(List.of(lastDay), reported);
+
+        // A dropped day is counted afresh when it is queried again
+        for (LocalDate date : List.of(firstDay, lastDay)) {
+            int[] expected = recount(group, date);
+            for (int quantum = 0; quantum < QUANTA_PER_DAY; quantum++) {
+                assertEquals(expected[quantum], group.getAvailableMemberCount(date.atStartOfDay().plusMinutes(5L * quantum)),
+                        date + ", quantum " + quantum);
+            }
+        }
+    }
+
+    private static void applyRandomEdit(Random random, StudyGroup group, List<Member> outside) {
+        List<Member> members = group.getMembers();
+        Member member = members.isEmpty() ? null : members.get(random.nextInt(members.size()));
+        LocalDate date = FIRST_DAY.plusDays(random.nextInt(DAYS));
+        LocalDateTime start = date.atTime(random.nextInt(24), random.nextInt(60)).minusMinutes(random.nextInt(2) * 30);
+        TimeSlot slot = new TimeSlot(start, start.plusMinutes(1 + random.nextInt(240)));
+
+        switch (random.nextInt(9)) {
+            case 0:
+            case 1:
+            case 2:
+                if (member != null) {
+                    member.addTimeSlot(slot);
+                }
+                break;
+            case 3:
+                if (member != null && !member.getAvailableTimeSlots().isEmpty()) {
+                    List<TimeSlot> slots = member.getAvailableTimeSlots();
+                    member.removeTimeSlot(slots.get(random.nextInt(slots.size())));
+                }
+                break;
+            case 4:
+                if (!outside.isEmpty()) {
+                    Member joining = outside.remove(random.nextInt(outside.size()));
+                    group.addMember(joining);
+                }
+                break;
+            case 5:
+                if (member != null && members.size() > 1) {
+                    group.removeMember(member);
+                    outside.add(member);
+                }
+                break;
+            case 6:
+                group.setMinimumMembersRequired(random.nextInt(members.size() + 2));
+                break;
+            case 7:
+                if (member != null) {
+                    member.setCanonicalizing(!member.isCanonicalizing());
+                    if (random.nextBoolean()) {
+                        member.setAvailableTimeSlots(List.of(slot));
+                    }
+                }
+                break;
+            default:
+                if (member != null) {
+                    if (random.nextBoolean()) {
+                        LocalTime ruleStart = LocalTime.of(random.nextInt(20), 5 * random.nextInt(12));
+                        member.addRecurringAvailability(new RecurringAvailability(
+                                EnumSet.of(DayOfWeek.of(1 + random.nextInt(7))), ruleStart, ruleStart.plusMinutes(60)));
+                    } else {
+                        member.setRecurringAvailability(null);
+                    }
+                }
+                break;
+        }
+    }
+
+    private static int requiredMembers(StudyGroup group) {
+        int size = group.getMembers().size();
+        return group.getMinimumMembersRequired() > 0 ? Math.min(group.getMinimumMembersRequired(), size) : size;
+    }
+
+    /**
+     * Counts, for each 5-minute quantum of the day, the members with availability overlapping it.
+     */
+    private static int[] recount(StudyGroup group, LocalDate date) {
+        int[] counts = new int[QUANTA_PER_DAY];
+        for (int quantum = 0; quantum < QUANTA_PER_DAY; quantum++) {
+            LocalDateTime start = date.atStartOfDay().plusMinutes(5L * quantum);
+            TimeSlot slot = new TimeSlot(start, start.plusMinutes(5));
+            for (Member member : group.getMembers()) {
+                if (member.overlapsAvailability(slot)) {
+                    counts[quantum]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static boolean[] toQuanta(LocalDate date, List<TimeSlot> slots) {
+        boolean[] quanta = new boolean[QUANTA_PER_DAY];
+        mark(quanta, date, slots, true);
+        return quanta;
+    }
+
+    private static void mark(boolean[] quanta, LocalDate date, List<TimeSlot> slots, boolean value) {
+        for (TimeSlot slot : slots) {
+            int first = (int) (ChronoUnit.MINUTES.between(date.atStartOfDay(), slot.getStartTime()) / 5);
+            int last = (int) (ChronoUnit.MINUTES.between(date.atStartOfDay(), slot.getEndTime()) / 5);
+            for (int quantum = first; quantum < last; quantum++) {
+                quanta[quantum] = value;
+            }
+        }
+    }
+
+    private static List<Boolean> toList(boolean[] quanta) {
+        List<Boolean> list = new ArrayList<>(quanta.length);
+        for (boolean quantum : quanta) {
+            list.add(quantum);
+        }
+        return list;
+    }
+}
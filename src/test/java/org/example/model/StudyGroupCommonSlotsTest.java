@@ -0,0 +1,287 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the common-slot queries of {@link StudyGroup} against a direct count that asks every
+ * member about every candidate slot, as the original implementation did.
+ */
+class StudyGroupCommonSlotsTest {
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+    private static final int[] DURATIONS = {5, 7, 15, 30, 45, 60, 90};
+
+    @Test
+    void findCommonTimeSlotsMatchesDirectCount() {
+        Random random = new Random(42);
+        for (int round = 0; round < 300; round++) {
+            StudyGroup group = randomGroup(random, 1 + random.nextInt(6));
+            LocalDate date = MONDAY.plusDays(random.nextInt(7));
+            int duration = DURATIONS[random.nextInt(DURATIONS.length)];
+
+            assertEquals(directCount(group, group.getMembers(), date, duration),
+                    group.findCommonTimeSlots(date, duration), "round " + round);
+        }
+    }
+
+    @Test
+    void findCommonTimeSlotsOverRangeMatchesDailyQueries() {
+        Random random = new Random(7);
+        for (int round = 0; round < 40; round++) {
+            StudyGroup group = randomGroup(random, 1 + random.nextInt(5));
+            int duration = DURATIONS[random.nextInt(DURATIONS.length)];
+            LocalDate to = MONDAY.plusDays(random.nextInt(14));
+
+            List<TimeSlot> expected = new ArrayList<>();
+            for (LocalDate date = MONDAY; !date.isAfter(to); date = date.plusDays(1)) {
+                expected.addAll(directCount(group, group.getMembers(), date, duration));
+            }
+            assertEquals(expected, group.findCommonTimeSlots(MONDAY, to, duration), "round " + round);
+        }
+    }
+
+    @Test
+    void findCommonTimeSlotsSeesEditsAfterEarlierQueries() {
+        Random random = new Random(3);
+        StudyGroup group = randomGroup(random, 4);
+        for (int edit = 0; edit < 200; edit++) {
+            LocalDate date = MONDAY.plusDays(random.nextInt(3));
+            assertEquals(directCount(group, group.getMembers(), date, 30), group.findCommonTimeSlots(date, 30));
+
+            Member member = group.getMembers().get(random.nextInt(group.getMembers().size()));
+            TimeSlot slot = randomSlot(random, date);
+            if (random.nextBoolean()) {
+                member.addTimeSlot(slot);
+            } else if (!member.getAvailableTimeSlots().isEmpty()) {
+                member.removeTimeSlot(member.getAvailableTimeSlots().get(0));
+            }
+        }
+    }
+
+    @Test
+    void cachedGroupQueriesMatchDirectCountAfterEdits() {
+        Random random = new Random(5);
+        StudyGroup group = randomGroup(random, 6);
+        for (int step = 0; step < 300; step++) {
+            String groupName = "G" + random.nextInt(3);
+            LocalDate date = MONDAY.plusDays(random.nextInt(3));
+            int duration = random.nextBoolean() ? 30 : 45;
+
+            List<Member> groupMembers = new ArrayList<>();
+            for (Member member : group.getMembers()) {
+                if (member.belongsToGroup(groupName)) {
+                    groupMembers.add(member);
+                }
+            }
+            // Asked twice, so that the second answer comes from the cache
+            List<TimeSlot> expected = directCount(group, groupMembers, date, duration);
+            assertEquals(expected, group.findCommonTimeSlotsForGroup(groupName, date, duration), "step " + step);
+            assertEquals(expected, group.findCommonTimeSlotsForGroup(groupName, date, duration), "cached, step " + step);
+
+            Member member = group.getMembers().get(random.nextInt(group.getMembers().size()));
+            switch (random.nextInt(6)) {
+                case 0:
+                    member.addTimeSlot(randomSlot(random, date));
+                    break;
+                case 1:
+                    if (!member.getAvailableTimeSlots().isEmpty()) {
+                        member.removeTimeSlot(member.getAvailableTimeSlots().get(0));
+                    }
+                    break;
+                case 2:
+                    group.moveMemberToGroup(member, "G" + random.nextInt(3));
+                    break;
+                case 3:
+                    member.setName(member.getName() + "'");
+                    break;
+                case 4:
+                    group.setMinimumMembersRequired(random.nextInt(4));
+                    break;
+                default:
+                    group.setDefaultStartTime(LocalTime.of(7 + random.nextInt(3), 0));
+                    break;
+            }
+        }
+    }
+
+    @Test
+    void cachedGroupSlotsCannotBeChangedByCallers() {
+        StudyGroup group = new StudyGroup("Group");
+        Member member = new Member("Member", "member@example.com", "G0");
+        member.addTimeSlot(new TimeSlot(MONDAY.atTime(9, 0), MONDAY.atTime(12, 0)));
+        group.addMember(member);
+
+        List<TimeSlot> first = group.findCommonTimeSlotsForGroup("G0", MONDAY, 30);
+        TimeSlot slot = first.get(0);
+        assertThrows(UnsupportedOperationException.class, () -> slot.setEndTime(slot.getEndTime().plusHours(1)));
+        assertThrows(UnsupportedOperationException.class, () -> slot.setTitle("Changed"));
+        assertThrows(UnsupportedOperationException.class, () -> first.remove(0));
+
+        // A changed copy does not reach the cached result that the next caller gets
+        TimeSlot copy = slot.copy();
+        copy.setEndTime(copy.getEndTime().plusHours(1));
+        List<TimeSlot> second = group.findCommonTimeSlotsForGroup("G0", MONDAY, 30);
+        assertEquals(directCount(group, group.getMembers(), MONDAY, 30), second);
+        assertEquals(30, second.get(0).getDurationMinutes());
+    }
+
+    @Test
+    void topRankedSlotsMatchFullSort() {
+        Random random = new Random(61);
+        for (int round = 0; round < 60; round++) {
+            StudyGroup group = randomGroup(random, 1 + random.nextInt(6));
+            LocalDate to = MONDAY.plusDays(random.nextInt(10));
+            int duration = DURATIONS[random.nextInt(DURATIONS.length)];
+
+            List<String> all = describe(fullSort(group, MONDAY, to, duration));
+            // A limit past the number of candidates keeps every slot that someone can attend
+            assertEquals(all, describe(group.rankCandidateSlots(MONDAY, to, duration, Integer.MAX_VALUE)),
+                    "unlimited, round " + round);
+
+            for (int limit : new int[] {1, 2, 5, 1 + random.nextInt(50), all.size(), all.size() + 1}) {
+                if (limit > 0) {
+                    assertEquals(all.subList(0, Math.min(limit, all.size())),
+                            describe(group.rankCandidateSlots(MONDAY, to, duration, limit)),
+                            "limit " + limit + ", round " + round);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rankingRejectsLimitsBelowOne() {
+        StudyGroup group = randomGroup(new Random(67), 3);
+        assertThrows(IllegalArgumentException.class, () -> group.rankCandidateSlots(MONDAY, MONDAY, 30, 0));
+        assertThrows(IllegalArgumentException.class, () -> group.rankCandidateSlotsForGroup("G0", MONDAY, MONDAY, 30, -1));
+    }
+
+    /**
+     * Ranks every candidate slot that at least one member can attend by counting members per
+     * slot and measuring each run of equally attended slots directly, then sorts them all.
+     */
+    private static List<StudyGroup.RankedSlot> fullSort(StudyGroup group, LocalDate from, LocalDate to, int duration) {
+        List<StudyGroup.RankedSlot> ranked = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            List<TimeSlot> slots = new ArrayList<>();
+            List<Integer> counts = new ArrayList<>();
+            LocalDateTime start = date.atTime(group.getDefaultStartTime());
+            while (!start.plusMinutes(duration).isAfter(date.atTime(group.getDefaultEndTime()))) {
+                TimeSlot slot = new TimeSlot(start, start.plusMinutes(duration));
+                int available = 0;
+                for (Member member : group.getMembers()) {
+                    List<TimeSlot> availability = new ArrayList<>(member.getAvailableTimeSlots());
+                    availability.addAll(member.getRecurringTimeSlots(date));
+                    if (availability.stream().anyMatch(each -> each.overlaps(slot))) {
+                        available++;
+                    }
+                }
+                slots.add(slot);
+                counts.add(available);
+                start = start.plusMinutes(duration);
+            }
+            for (int i = 0; i < slots.size(); i++) {
+                if (counts.get(i) == 0) {
+                    continue;
+                }
+                int first = i;
+                while (first > 0 && counts.get(first - 1) >= counts.get(i)) {
+                    first--;
+                }
+                int last = i;
+                while (last < slots.size() - 1 && counts.get(last + 1) >= counts.get(i)) {
+                    last++;
+                }
+                ranked.add(new StudyGroup.RankedSlot(slots.get(i), counts.get(i),
+                        (long) i * duration, (long) (last - first + 1) * duration));
+            }
+        }
+        ranked.sort(StudyGroup.RankedSlot.BEST_FIRST);
+        return ranked;
+    }
+
+    private static List<String> describe(List<StudyGroup.RankedSlot> ranked) {
+        List<String> lines = new ArrayList<>();
+        for (StudyGroup.RankedSlot slot : ranked) {
+            lines.add(slot.getTimeSlot().getStartTime() + " attendees=" + slot.getAvailableMembers()
+                    + " offset=" + slot.getMinutesFromDefaultStart() + " contiguous=" + slot.getContiguousMinutes());
+        }
+        return lines;
+    }
+
+    /**
+     * Builds a group with random availability, recurring rules, quorum and scheduling window.
+     */
+    static StudyGroup randomGroup(Random random, int memberCount) {
+        StudyGroup group = new StudyGroup("Group");
+        group.setDefaultStartTime(LocalTime.of(6 + random.nextInt(4), random.nextInt(4) == 0 ? 3 : 0));
+        group.setDefaultEndTime(LocalTime.of(16 + random.nextInt(6), 0));
+        group.setMinimumMembersRequired(random.nextInt(memberCount + 1));
+        group.setEmergencyScheduling(random.nextInt(10) == 0);
+
+        for (int i = 0; i < memberCount; i++) {
+            Member member = new Member("Member " + i, "member" + i + "@example.com", "G" + random.nextInt(2));
+            member.setCanonicalizing(random.nextInt(4) == 0);
+            for (int day = 0; day < 14; day++) {
+                int slots = random.nextInt(4);
+                for (int s = 0; s < slots; s++) {
+                    member.addTimeSlot(randomSlot(random, MONDAY.plusDays(day)));
+                }
+            }
+            if (random.nextInt(3) == 0) {
+                Set<DayOfWeek> days = EnumSet.of(DayOfWeek.of(1 + random.nextInt(7)), DayOfWeek.of(1 + random.nextInt(7)));
+                LocalTime start = LocalTime.of(8 + random.nextInt(8), 5 * random.nextInt(12));
+                member.addRecurringAvailability(new RecurringAvailability(days, start, start.plusMinutes(30 + random.nextInt(150))));
+            }
+            group.addMember(member);
+        }
+        return group;
+    }
+
+    static TimeSlot randomSlot(Random random, LocalDate date) {
+        LocalDateTime start = date.atTime(6 + random.nextInt(14), random.nextInt(60));
+        return new TimeSlot(start, start.plusMinutes(1 + random.nextInt(180)));
+    }
+
+    /**
+     * Counts, for every candidate slot, the members with any availability overlapping it.
+     */
+    static List<TimeSlot> directCount(StudyGroup group, List<Member> candidates, LocalDate date, int duration) {
+        List<TimeSlot> common = new ArrayList<>();
+        if (candidates.isEmpty()) {
+            return common;
+        }
+        int required = group.getMinimumMembersRequired() > 0
+                ? Math.min(group.getMinimumMembersRequired(), candidates.size()) : candidates.size();
+
+        LocalDateTime start = date.atTime(group.getDefaultStartTime());
+        LocalDateTime end = date.atTime(group.getDefaultEndTime());
+        while (!start.plusMinutes(duration).isAfter(end)) {
+            TimeSlot slot = new TimeSlot(start, start.plusMinutes(duration));
+            int available = 0;
+            for (Member member : candidates) {
+                List<TimeSlot> availability = new ArrayList<>(member.getAvailableTimeSlots());
+                availability.addAll(member.getRecurringTimeSlots(date));
+                if (availability.stream().anyMatch(each -> each.overlaps(slot))) {
+                    available++;
+                }
+            }
+            if (available >= required || group.isEmergencyScheduling()) {
+                common.add(slot);
+            }
+            start = start.plusMinutes(duration);
+        }
+        return common;
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the group membership indexes of {@link StudyGroup} against a scan of every member,
+ * while members join, leave, move, get renamed and have their groups disbanded.
+ */
+class StudyGroupMembershipTest {
+    private static final String[] GROUPS = {"G0", "G1", "G2", "", " ", null};
+
+    @Test
+    void indexesMatchScanAfterRandomEdits() {
+        Random random = new Random(17);
+        StudyGroup group = new StudyGroup("Group");
+        List<Member> outside = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Member member = new Member("Member " + i, "member" + (i % 4) + "@example.com", randomGroup(random));
+            if (i < 8) {
+                assertTrue(group.addMember(member));
+            } else {
+                outside.add(member);
+            }
+        }
+
+        for (int step = 0; step < 1000; step++) {
+            List<Member> members = group.getMembers();
+            Member member = members.isEmpty() ? null : members.get(random.nextInt(members.size()));
+            switch (random.nextInt(7)) {
+                case 0:
+                    if (!outside.isEmpty()) {
+                        Member joining = outside.remove(random.nextInt(outside.size()));
+                        if (!group.addMember(joining)) {
+                            outside.add(joining);
+                        }
+                    }
+                    break;
+                case 1:
+                    if (member != null) {
+                        assertTrue(group.removeMember(member));
+                        // An equal member may have been removed in its place
+                        outside.add(removedMember(members, group.getMembers()));
+                    }
+                    break;
+                case 2:
+                    if (member != null) {
+                        assertTrue(group.moveMemberToGroup(member, randomGroup(random)));
+                    }
+                    break;
+                case 3:
+                    if (member != null) {
+                        member.setGroup(randomGroup(random));
+                    }
+                    break;
+                case 4:
+                    // Few distinct names, so renames regularly make two members equal
+                    if (member != null) {
+                        member.setName("Member " + random.nextInt(4));
+                    }
+                    break;
+                case 5:
+                    if (member != null) {
+                        member.setEmail("member" + random.nextInt(4) + "@example.com");
+                    }
+                    break;
+                default:
+                    String disbanded = randomGroup(random);
+                    int expected = disbanded == null ? 0 : scanGroup(group, disbanded).size();
+                    assertEquals(expected, group.disbandGroup(disbanded), "disbanded at step " + step);
+                    break;
+            }
+            assertIndexesMatchScan(group, "step " + step);
+        }
+    }
+
+    @Test
+    void everyMemberCanBeFoundAfterRenames() {
+        Random random = new Random(23);
+        StudyGroup group = new StudyGroup("Group");
+        for (int i = 0; i < 10; i++) {
+            group.addMember(new Member("Member " + i, "member" + i + "@example.com", "G" + (i % 3)));
+        }
+        for (int step = 0; step < 200; step++) {
+            Member member = group.getMembers().get(random.nextInt(group.getMembers().size()));
+            member.setName("Member " + random.nextInt(3));
+            member.setEmail("member" + random.nextInt(3) + "@example.com");
+            member.setGroup("G" + random.nextInt(3));
+        }
+
+        for (Member member : group.getMembers()) {
+            assertTrue(group.moveMemberToGroup(member, member.getGroup()), member.getName());
+        }
+        int size = group.getMembers().size();
+        while (!group.getMembers().isEmpty()) {
+            assertTrue(group.removeMember(group.getMembers().get(0)));
+            assertEquals(--size, group.getMembers().size());
+            assertIndexesMatchScan(group, size + " members left");
+        }
+    }
+
+    private static void assertIndexesMatchScan(StudyGroup group, String message) {
+        Set<Member> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(group.getMembers());
+        assertEquals(group.getMembers().size(), distinct.size(), "duplicate members at " + message);
+
+        Set<String> expectedGroups = new HashSet<>();
+        Map<String, Integer> expectedStatistics = new HashMap<>();
+        List<Member> ungrouped = new ArrayList<>();
+        for (Member member : group.getMembers()) {
+            if (member.hasGroup()) {
+                expectedGroups.add(member.getGroup());
+                expectedStatistics.merge(member.getGroup(), 1, Integer::sum);
+            } else {
+                ungrouped.add(member);
+            }
+        }
+        if (!ungrouped.isEmpty()) {
+            expectedStatistics.put("Ungrouped", ungrouped.size());
+        }
+
+        assertEquals(expectedGroups, group.getAllGroups(), "groups at " + message);
+        assertEquals(expectedStatistics, group.getGroupStatistics(), "statistics at " + message);
+        assertSameMembers(ungrouped, group.getUngroupedMembers(), "ungrouped at " + message);
+        for (String groupName : GROUPS) {
+            List<Member> expected = groupName == null ? new ArrayList<>() : scanGroup(group, groupName);
+            assertSameMembers(expected, group.getMembersByGroup(groupName), groupName + " at " + message);
+        }
+    }
+
+    private static List<Member> scanGroup(StudyGroup group, String groupName) {
+        List<Member> groupMembers = new ArrayList<>();
+        for (Member member : group.getMembers()) {
+            if (member.belongsToGroup(groupName)) {
+                groupMembers.add(member);
+            }
+        }
+        return groupMembers;
+    }
+
+    private static void assertSameMembers(List<Member> expected, List<Member> actual, String message) {
+        Set<Member> expectedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        expectedSet.addAll(expected);
+        Set<Member> actualSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        actualSet.addAll(actual);
+        assertEquals(expected.size(), actual.size(), message);
+        assertEquals(expectedSet, actualSet, message);
+    }
+
+    private static Member removedMember(List<Member> before, List<Member> after) {
+        Set<Member> remaining = Collections.newSetFromMap(new IdentityHashMap<>());
+        remaining.addAll(after);
+        for (Member member : before) {
+            if (!remaining.contains(member)) {
+                return member;
+            }
+        }
+        throw new AssertionError("no member was removed");
+    }
+
+    private static String randomGroup(Random random) {
+        return GROUPS[random.nextInt(GROUPS.length)];
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link WeeklyPlanSolver} never books a person into two overlapping meetings,
+ * schedules as many groups as it can, and still returns a plan when its search budget runs out.
+ */
+class WeeklyPlanSolverTest {
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Test
+    void memberSharedBetweenTwoGroupsGetsSeparateMeetings() {
+        Map<String, List<TimeSlot>> candidates = new LinkedHashMap<>();
+        candidates.put("Algebra", List.of(hour(9), hour(11)));
+        candidates.put("Biology", List.of(hour(9)));
+        candidates.put("Chemistry", List.of(hour(9)));
+        Map<String, Set<String>> people = Map.of(
+                "Algebra", Set.of("ana", "ben"),
+                "Biology", Set.of("ben", "cal"),
+                "Chemistry", Set.of("dee"));
+
+        Map<String, TimeSlot> plan = new WeeklyPlanSolver(candidates, people).solve();
+
+        // Ben attends both Algebra and Biology, so Algebra moves to its second choice
+        assertEquals(hour(11), plan.get("Algebra"));
+        assertEquals(hour(9), plan.get("Biology"));
+        assertEquals(hour(9), plan.get("Chemistry"));
+        assertValid(plan, candidates, people);
+    }
+
+    @Test
+    void groupWithoutCandidatesIsLeftOut() {
+        Map<String, List<TimeSlot>> candidates = new LinkedHashMap<>();
+        candidates.put("Algebra", List.of(hour(9)));
+        candidates.put("Biology", List.of());
+        candidates.put("Chemistry", List.of(hour(9), hour(10)));
+        Map<String, Set<String>> people = Map.of(
+                "Algebra", Set.of("ana"),
+                "Biology", Set.of("ana", "ben"),
+                "Chemistry", Set.of("ana", "ben"));
+
+        Map<String, TimeSlot> plan = new WeeklyPlanSolver(candidates, people).solve();
+
+        assertFalse(plan.containsKey("Biology"));
+        assertEquals(Map.of("Algebra", hour(9), "Chemistry", hour(10)), plan);
+        assertValid(plan, candidates, people);
+    }
+
+    @Test
+    void exhaustedBudgetStillReturnsBestPlanFound() {
+        // Twelve groups share one person but there are only eleven separate hours, so no plan
+        // schedules everyone; proving that would take the search through every ordering of the hours
+        List<TimeSlot> hours = new ArrayList<>();
+        for (int hour = 8; hour < 19; hour++) {
+            hours.add(hour(hour));
+        }
+        Map<String, List<TimeSlot>> candidates = new LinkedHashMap<>();
+        Map<String, Set<String>> people = new LinkedHashMap<>();
+        for (int group = 0; group < hours.size() + 1; group++) {
+            candidates.put("Group " + group, hours);
+            people.put("Group " + group, Set.of("tutor", "student " + group));
+        }
+
+        Map<String, TimeSlot> plan = new WeeklyPlanSolver(candidates, people).solve();
+
+        assertEquals(hours.size(), plan.size());
+        assertValid(plan, candidates, people);
+    }
+
+    /**
+     * Checks that every chosen slot is one of its group's candidates, and that no two groups
+     * sharing a person meet at overlapping times.
+     */
+    private static void assertValid(Map<String, TimeSlot> plan, Map<String, List<TimeSlot>> candidates,
+                                    Map<String, Set<String>> people) {
+        for (Map.Entry<String, TimeSlot> meeting : plan.entrySet()) {
+            assertTrue(candidates.get(meeting.getKey()).contains(meeting.getValue()), meeting.getKey());
+            for (Map.Entry<String, TimeSlot> other : plan.entrySet()) {
+                if (meeting.getKey().equals(other.getKey())) {
+                    continue;
+                }
+                boolean sharePeople = people.get(meeting.getKey()).stream().anyMatch(people.get(other.getKey())::contains);
+                assertFalse(sharePeople && meeting.getValue().overlaps(other.getValue()),
+                        meeting.getKey() + " overlaps " + other.getKey());
+            }
+        }
+    }
+
+    private static TimeSlot hour(int hour) {
+        return new TimeSlot(MONDAY.atTime(hour, 0), MONDAY.atTime(hour + 1, 0));
+    }
+}
@@ -0,0 +1,239 @@
+package org.example.util;
+
+import org.example.model.Member;
+import org.example.model.RecurringAvailability;
+import org.example.model.StudyGroup;
+import org.example.model.TimeSlot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that a study group saved as a JSON or binary snapshot, with journaled edits on top,
+ * loads back unchanged.
+ */
+class DataManagerTest {
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @TempDir
+    File dataDir;
+
+    @Test
+    void jsonSnapshotAndJournalRoundTrip() {
+        assertRoundTrip(false);
+    }
+
+    @Test
+    void binarySnapshotAndJournalRoundTrip() {
+        assertRoundTrip(true);
+    }
+
+    @Test
+    void snapshotTakenBeforeLaterEditsRoundTrips() throws IOException {
+        Random random = new Random(19);
+        StudyGroup studyGroup = randomStudyGroup(random);
+        DataManager dataManager = new DataManager(dataDir, true, true);
+
+        // Edits made while the snapshot is being written go to the next journal segment
+        DataManager.Snapshot snapshot = dataManager.takeSnapshot(studyGroup);
+        applyJournaledEdits(random, dataManager, studyGroup);
+        dataManager.saveSnapshot(snapshot);
+        dataManager.close();
+
+        assertEquals(describe(studyGroup), describe(new DataManager(dataDir, true, true).loadStudyGroup()));
+    }
+
+    @Test
+    void compactionWrittenAfterNewerSaveIsSkipped() throws IOException {
+        Random random = new Random(23);
+        StudyGroup studyGroup = randomStudyGroup(random);
+        DataManager dataManager = new DataManager(dataDir, true, true);
+
+        // The journal is idle, so both copies cover the same segment; the rename is never journaled
+        DataManager.Snapshot compaction = dataManager.takeSnapshot(studyGroup);
+        studyGroup.getMembers().get(0).setName("Renamed");
+        studyGroup.setMinimumMembersRequired(studyGroup.getMinimumMembersRequired() + 1);
+        DataManager.Snapshot save = dataManager.takeSnapshot(studyGroup);
+
+        // The saver wins the race for the snapshot files, and the compactor writes afterwards
+        dataManager.saveSnapshot(save);
+        dataManager.saveSnapshot(compaction);
+        dataManager.close();
+
+        assertEquals(describe(studyGroup), describe(new DataManager(dataDir, true, true).loadStudyGroup()));
+    }
+
+    @Test
+    void snapshotTakenBeforeClearIsSkipped() throws IOException {
+        StudyGroup studyGroup = randomStudyGroup(new Random(37));
+        DataManager dataManager = new DataManager(dataDir, false, false);
+
+        DataManager.Snapshot snapshot = dataManager.takeSnapshot(studyGroup);
+        dataManager.clearAllData();
+        dataManager.saveSnapshot(snapshot);
+
+        assertEquals(0, dataManager.loadStudyGroup().getMembers().size());
+    }
+
+    @Test
+    void jsonSnapshotReplacesOlderBinarySnapshot() {
+        Random random = new Random(29);
+        StudyGroup studyGroup = randomStudyGroup(random);
+        new DataManager(dataDir, false, true).saveStudyGroup(studyGroup);
+
+        studyGroup.removeMember(studyGroup.getMembers().get(0));
+        new DataManager(dataDir, false, false).saveStudyGroup(studyGroup);
+
+        assertFalse(new File(dataDir, "study_group.bin").exists());
+        assertEquals(describe(studyGroup), describe(new DataManager(dataDir, false, true).loadStudyGroup()));
+    }
+
+    @Test
+    void exportedJsonImportsUnchanged() throws IOException {
+        StudyGroup studyGroup = randomStudyGroup(new Random(31));
+        DataManager dataManager = new DataManager(dataDir, false, false);
+        File exportDir = new File(dataDir, "export");
+
+        dataManager.exportToJson(studyGroup, exportDir);
+
+        assertEquals(describe(studyGroup), describe(dataManager.importFromJson(exportDir)));
+    }
+
+    private void assertRoundTrip(boolean binarySnapshots) {
+        Random random = new Random(binarySnapshots ? 13 : 7);
+        StudyGroup studyGroup = randomStudyGroup(random);
+
+        DataManager dataManager = new DataManager(dataDir, true, binarySnapshots);
+        dataManager.saveStudyGroup(studyGroup);
+        assertEquals(binarySnapshots, new File(dataDir, "study_group.bin").exists());
+        applyJournaledEdits(random, dataManager, studyGroup);
+        dataManager.close();
+
+        DataManager reopened = new DataManager(dataDir, true, binarySnapshots);
+        StudyGroup loaded = reopened.loadStudyGroup();
+        assertEquals(describe(studyGroup), describe(loaded));
+
+        // A second snapshot covers the journal, and loading from it alone gives the same group
+        reopened.saveStudyGroup(loaded);
+        reopened.close();
+        assertEquals(describe(studyGroup), describe(new DataManager(dataDir, true, binarySnapshots).loadStudyGroup()));
+    }
+
+    /**
+     * Adds, removes and replaces members and adds time slots through the journaled save methods.
+     */
+    private static void applyJournaledEdits(Random random, DataManager dataManager, StudyGroup studyGroup) {
+        for (int edit = 0; edit < 40; edit++) {
+            List<Member> members = studyGroup.getMembers();
+            switch (random.nextInt(4)) {
+                case 0:
+                    dataManager.saveMember(randomMember(random, "Joined " + edit), studyGroup);
+                    break;
+                case 1:
+                    if (!members.isEmpty()) {
+                        dataManager.removeMember(members.get(random.nextInt(members.size())), studyGroup);
+                    }
+                    break;
+                case 2:
+                    // Members are edited by saving a changed copy in place of the original
+                    if (!members.isEmpty()) {
+                        Member member = members.get(random.nextInt(members.size()));
+                        Member edited = member.copy();
+                        edited.addTimeSlot(randomSlot(random));
+                        edited.setCanonicalizing(!edited.isCanonicalizing());
+                        dataManager.removeMember(member, studyGroup);
+                        dataManager.saveMember(edited, studyGroup);
+                    }
+                    break;
+                default:
+                    dataManager.saveSchedule(randomSlot(random), studyGroup);
+                    break;
+            }
+        }
+    }
+
+    static StudyGroup randomStudyGroup(Random random) {
+        StudyGroup studyGroup = new StudyGroup("Group " + random.nextInt(100));
+        studyGroup.setDefaultStartTime(LocalTime.of(7 + random.nextInt(3), 30));
+        studyGroup.setDefaultEndTime(LocalTime.of(17 + random.nextInt(4), 0));
+        studyGroup.setMinimumMembersRequired(random.nextInt(4));
+        studyGroup.setEmergencyScheduling(random.nextBoolean());
+        for (int i = 0; i < 12; i++) {
+            studyGroup.addMember(randomMember(random, "Member " + i));
+        }
+        for (int i = 0; i < 5; i++) {
+            studyGroup.addTimeSlot(randomSlot(random));
+        }
+        return studyGroup;
+    }
+
+    private static Member randomMember(Random random, String name) {
+        String email = random.nextInt(4) == 0 ? null : name.toLowerCase().replace(' ', '.') + "@example.com";
+        String group = random.nextInt(3) == 0 ? null : "G" + random.nextInt(3);
+        Member member = new Member(name, email, group);
+        member.setCanonicalizing(random.nextInt(3) == 0);
+        for (int i = random.nextInt(6); i > 0; i--) {
+            member.addTimeSlot(randomSlot(random));
+        }
+        if (random.nextBoolean()) {
+            LocalTime start = LocalTime.of(8 + random.nextInt(8), 15 * random.nextInt(4));
+            RecurringAvailability rule = new RecurringAvailability(
+                    EnumSet.of(DayOfWeek.of(1 + random.nextInt(7)), DayOfWeek.of(1 + random.nextInt(7))),
+                    start, start.plusMinutes(30 + random.nextInt(120)), MONDAY, MONDAY.plusWeeks(4));
+            rule.addException(MONDAY.plusDays(7));
+            member.addRecurringAvailability(rule);
+        }
+        return member;
+    }
+
+    private static TimeSlot randomSlot(Random random) {
+        LocalDateTime start = MONDAY.plusDays(random.nextInt(7)).atTime(6 + random.nextInt(14), 5 * random.nextInt(12));
+        LocalDateTime end = start.plusMinutes(15 + random.nextInt(180));
+        if (random.nextBoolean()) {
+            return new TimeSlot(start, end, "Session " + random.nextInt(10), random.nextBoolean() ? "Room " + random.nextInt(5) : null);
+        }
+        return new TimeSlot(start, end);
+    }
+
+    /**
+     * Lists every saved value of a study group, including the parts that equals() ignores,
+     * such as slot titles and a member's availability.
+     */
+    static List<String> describe(StudyGroup studyGroup) {
+        List<String> lines = new ArrayList<>();
+        lines.add(studyGroup.getName() + " " + studyGroup.getDefaultStartTime() + "-" + studyGroup.getDefaultEndTime()
+                + " min=" + studyGroup.getMinimumMembersRequired() + " emergency=" + studyGroup.isEmergencyScheduling());
+        for (Member member : studyGroup.getMembers()) {
+            lines.add("member " + member.getName() + " " + member.getEmail() + " " + member.getGroup()
+                    + " canonicalizing=" + member.isCanonicalizing());
+            for (TimeSlot slot : member.getAvailableTimeSlots()) {
+                lines.add("  " + describe(slot));
+            }
+            for (RecurringAvailability rule : member.getRecurringAvailability()) {
+                lines.add("  every " + rule.getDaysOfWeek() + " " + rule.getStartTime() + "-" + rule.getEndTime()
+                        + " from " + rule.getStartDate() + " to " + rule.getEndDate() + " except " + rule.getExceptions());
+            }
+        }
+        for (TimeSlot slot : studyGroup.getTimeSlots()) {
+            lines.add("schedule " + describe(slot));
+        }
+        return lines;
+    }
+
+    private static String describe(TimeSlot slot) {
+        return slot.getStartTime() + "-" + slot.getEndTime() + " " + slot.getTitle() + " " + slot.getDescription();
+    }
+}
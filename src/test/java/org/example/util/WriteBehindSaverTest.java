@@ -0,0 +1,126 @@
+package org.example.util;
+
+import org.example.model.Member;
+import org.example.model.StudyGroup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.swing.SwingUtilities;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks what {@link WriteBehindSaver} writes: the study group as it is when the write is due,
+ * copied once per burst of edits, and nothing once a pending write was discarded.
+ */
+class WriteBehindSaverTest {
+    private static final long NEVER_MILLIS = 60_000;
+
+    @TempDir
+    File dataDir;
+
+    @Test
+    void flushWritesStudyGroupAsItIsNow() {
+        StudyGroup studyGroup = DataManagerTest.randomStudyGroup(new Random(3));
+        DataManager dataManager = new DataManager(dataDir, true, false);
+        WriteBehindSaver saver = new WriteBehindSaver(dataManager, NEVER_MILLIS, NEVER_MILLIS);
+
+        saver.markDirty(studyGroup);
+        // Edits made after markDirty are in the copy, which is only taken when the write happens
+        studyGroup.getMembers().get(0).setName("Renamed");
+        studyGroup.removeMember(studyGroup.getMembers().get(1));
+        saver.flush();
+
+        assertEquals(DataManagerTest.describe(studyGroup),
+                DataManagerTest.describe(new DataManager(dataDir, true, false).loadStudyGroup()));
+        saver.close();
+        dataManager.close();
+    }
+
+    @Test
+    void burstOfEditsIsCopiedOnceOnTheEventDispatchThread() throws InterruptedException {
+        StudyGroup studyGroup = DataManagerTest.randomStudyGroup(new Random(13));
+        AtomicInteger copies = new AtomicInteger();
+        AtomicInteger copiesElsewhere = new AtomicInteger();
+        DataManager dataManager = new DataManager(dataDir, false, true) {
+            @Override
+            Snapshot takeSnapshot(StudyGroup group) throws IOException {
+                copies.incrementAndGet();
+                if (!SwingUtilities.isEventDispatchThread()) {
+                    copiesElsewhere.incrementAndGet();
+                }
+                return super.takeSnapshot(group);
+            }
+        };
+        WriteBehindSaver saver = new WriteBehindSaver(dataManager, 100, NEVER_MILLIS);
+
+        for (int edit = 0; edit < 200; edit++) {
+            saver.markDirty(studyGroup);
+        }
+        File snapshotFile = new File(dataDir, "study_group.bin");
+        for (int wait = 0; wait < 500 && !snapshotFile.exists(); wait++) {
+            Thread.sleep(10);
+        }
+        saver.close();
+
+        assertTrue(snapshotFile.exists(), "snapshot was not written");
+        assertEquals(1, copies.get());
+        assertEquals(0, copiesElsewhere.get());
+    }
+
+    @Test
+    void journaledEditsAfterMarkDirtySurviveTheWrite() {
+        StudyGroup studyGroup = DataManagerTest.randomStudyGroup(new Random(5));
+        DataManager dataManager = new DataManager(dataDir, true, true);
+        WriteBehindSaver saver = new WriteBehindSaver(dataManager, NEVER_MILLIS, NEVER_MILLIS);
+
+        saver.markDirty(studyGroup);
+        dataManager.saveMember(new Member("Late", "late@example.com", "G0"), studyGroup);
+        dataManager.removeMember(studyGroup.getMembers().get(0), studyGroup);
+        saver.close();
+        dataManager.close();
+
+        assertEquals(DataManagerTest.describe(studyGroup),
+                DataManagerTest.describe(new DataManager(dataDir, true, true).loadStudyGroup()));
+    }
+
+    @Test
+    void debouncedWriteHappensWithoutFlush() throws InterruptedException {
+        StudyGroup studyGroup = DataManagerTest.randomStudyGroup(new Random(7));
+        DataManager dataManager = new DataManager(dataDir, false, true);
+        WriteBehindSaver saver = new WriteBehindSaver(dataManager, 10, 50);
+
+        saver.markDirty(studyGroup);
+        File snapshotFile = new File(dataDir, "study_group.bin");
+        for (int wait = 0; wait < 500 && !snapshotFile.exists(); wait++) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(snapshotFile.exists(), "snapshot was not written");
+        saver.flush();
+        assertEquals(DataManagerTest.describe(studyGroup), DataManagerTest.describe(dataManager.loadStudyGroup()));
+        saver.close();
+    }
+
+    @Test
+    void discardedWriteDoesNotOutliveClear() {
+        StudyGroup studyGroup = DataManagerTest.randomStudyGroup(new Random(11));
+        DataManager dataManager = new DataManager(dataDir, true, false);
+        WriteBehindSaver saver = new WriteBehindSaver(dataManager, 0, 0);
+
+        // With no delay the write may already be running; discard waits for it
+        saver.markDirty(studyGroup);
+        saver.discard();
+        dataManager.clearAllData();
+        saver.flush();
+
+        assertEquals(0, dataManager.loadStudyGroup().getMembers().size());
+        saver.close();
+        dataManager.close();
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.view;
+
+import org.example.model.Member;
+import org.example.model.RecurringAvailability;
+import org.example.model.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.awt.event.InputEvent;
+import java.awt.event.MouseEvent;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the cells {@link CalendarGrid} marks from recurring rules are cleared when the
+ * date or members change, and that cells the user edited keep the state the user gave them.
+ */
+class CalendarGridTest {
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    // Layout of the default grid: columns are half hours from 8:00, rows are members
+    private static final int ROW_HEADER_WIDTH = 150;
+    private static final int HEADER_HEIGHT = 50;
+    private static final int CELL_WIDTH = 40;
+    private static final int CELL_HEIGHT = 30;
+
+    @Test
+    void recurringMarksDoNotPileUpAcrossDates() {
+        CalendarGrid grid = gridWithMondayMornings();
+
+        grid.setDate(MONDAY);
+        assertEquals(List.of(halfHour(MONDAY, 8, 0), halfHour(MONDAY, 8, 30)), grid.getAvailableTimeSlots());
+        grid.setDate(TUESDAY);
+        assertEquals(List.of(), grid.getAvailableTimeSlots());
+        grid.setDate(MONDAY);
+        assertEquals(List.of(halfHour(MONDAY, 8, 0), halfHour(MONDAY, 8, 30)), grid.getAvailableTimeSlots());
+
+        grid.setMembers(List.of(new Member("Other", "other@example.com")));
+        assertEquals(List.of(), grid.getAvailableTimeSlots());
+    }
+
+    @Test
+    void cellsTheUserEditedAreNotReset() {
+        CalendarGrid grid = gridWithMondayMornings();
+        grid.setDate(MONDAY);
+
+        // Turn the 8:00 mark off and back on, and mark 9:00 as well
+        click(grid, 0);
+        click(grid, 0);
+        click(grid, 2);
+        assertEquals(List.of(halfHour(MONDAY, 8, 0), halfHour(MONDAY, 8, 30), halfHour(MONDAY, 9, 0)),
+                grid.getAvailableTimeSlots());
+
+        // Only the 8:30 mark still comes from the rule
+        grid.setDate(TUESDAY);
+        assertEquals(List.of(halfHour(TUESDAY, 8, 0), halfHour(TUESDAY, 9, 0)), grid.getAvailableTimeSlots());
+
+        // A recurring mark the user turned off is marked again on the next matching date
+        grid.setDate(MONDAY);
+        click(grid, 1);
+        grid.setDate(TUESDAY);
+        grid.setDate(MONDAY);
+        assertEquals(List.of(halfHour(MONDAY, 8, 0), halfHour(MONDAY, 8, 30), halfHour(MONDAY, 9, 0)),
+                grid.getAvailableTimeSlots());
+    }
+
+    private static CalendarGrid gridWithMondayMornings() {
+        Member member = new Member("Member", "member@example.com");
+        member.addRecurringAvailability(new RecurringAvailability(
+                EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        CalendarGrid grid = new CalendarGrid();
+        grid.setMembers(List.of(member));
+        return grid;
+    }
+
+    /**
+     * Left-clicks the first member's cell in the given column of the morning range.
+     */
+    private static void click(CalendarGrid grid, int col) {
+        int x = ROW_HEADER_WIDTH + col * CELL_WIDTH + CELL_WIDTH / 2;
+        int y = HEADER_HEIGHT + CELL_HEIGHT / 2;
+        grid.dispatchEvent(new MouseEvent(grid, MouseEvent.MOUSE_PRESSED, 0, InputEvent.BUTTON1_DOWN_MASK,
+                x, y, 1, false, MouseEvent.BUTTON1));
+        grid.dispatchEvent(new MouseEvent(grid, MouseEvent.MOUSE_RELEASED, 0, 0, x, y, 1, false, MouseEvent.BUTTON1));
+    }
+
+    private static TimeSlot halfHour(LocalDate date, int hour, int minute) {
+        return new TimeSlot(date.atTime(hour, minute), date.atTime(hour, minute).plusMinutes(30));
+    }
+}